@@ -0,0 +1,64 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ArgumentFileBenchmark {
+
+	@Param({ "256" })
+	private int fileSizeMegabytes;
+
+	private Path file;
+	private Schema expandingSchema;
+	private Schema plainSchema;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, ArgsException {
+		file = Files.createTempFile("args-benchmark", ".txt");
+		long limit = fileSizeMegabytes * 1024L * 1024L;
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("# generated input list\n-v -n 42\n");
+			long written = 0;
+			for (int i = 0; written < limit; i++) {
+				String line = String.format("-f /data/input/part-%08d/file-%08d.txt\n", i / 1000, i);
+				writer.write(line);
+				written += line.length();
+			}
+		}
+		expandingSchema = new Schema("v,n#,f[*]", ParseOption.EXPAND_ARGUMENT_FILES);
+		plainSchema = new Schema("v,n#,f[*]");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public Args streamedArgumentFile() throws ArgsException {
+		return new Args(expandingSchema, new String[] { "@" + file });
+	}
+
+	@Benchmark
+	public Args readIntoArrayThenParse() throws ArgsException, IOException {
+		String contents = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		StringBuilder withoutComments = new StringBuilder();
+		for (String line : contents.split("\n")) {
+			if (!line.startsWith("#")) {
+				withoutComments.append(line).append(' ');
+			}
+		}
+		return new Args(plainSchema, withoutComments.toString().trim().split("\\s+"));
+	}
+
+}
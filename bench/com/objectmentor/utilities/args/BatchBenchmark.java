@@ -0,0 +1,68 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+	@Param({ "100000" })
+	private int size;
+
+	private Schema schema;
+	private BatchParser parser;
+	private List<String[]> argvs;
+	private ExecutorService executor;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d*,r##,f[*]");
+		parser = new BatchParser(schema);
+		argvs = new ArrayList<String[]>(size);
+		for (int i = 0; i < size; i++) {
+			if (i % 10 == 0) {
+				argvs.add(new String[] { "-p", "port" + i });
+			} else {
+				argvs.add(new String[] { "-lp", Integer.toString(i), "-d", "/var/log", "-f", "a", "-f", "b", "x" });
+			}
+		}
+		executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	@TearDown
+	public void tearDown() {
+		executor.shutdown();
+	}
+
+	@Benchmark
+	public List<ParseResult> sequential() {
+		List<ParseResult> results = new ArrayList<ParseResult>(argvs.size());
+		for (String[] argv : argvs) {
+			results.add(schema.tryParse(argv));
+		}
+		return results;
+	}
+
+	@Benchmark
+	public List<ParseResult> forkJoin() {
+		return parser.parseAll(argvs);
+	}
+
+	@Benchmark
+	public List<ParseResult> executor() {
+		return parser.parseAll(argvs, executor);
+	}
+
+	@Benchmark
+	public List<ParseResult> parallelStream() {
+		return parser.parseAll(argvs.parallelStream());
+	}
+
+}
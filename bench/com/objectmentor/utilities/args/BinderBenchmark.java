@@ -0,0 +1,46 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+	public static class Config {
+		@Argument('l') boolean logging;
+		@Argument('p') int port = 80;
+		@Argument('d') String directory = "/tmp";
+		@Argument('r') double ratio = 0.5;
+	}
+
+	private Binder<Config> binder;
+	private Args args;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		binder = Binder.of(Config.class);
+		args = binder.getSchema().parse(new String[] { "-l", "-p", "8080", "-d", "/var", "-r", "0.25" });
+	}
+
+	@Benchmark
+	public Config handWritten() throws ArgsException {
+		Config config = new Config();
+		config.logging = args.getBoolean('l');
+		config.port = args.getIntOrDefault('p', config.port);
+		config.directory = args.getStringOrDefault('d', config.directory);
+		config.ratio = args.getDoubleOrDefault('r', config.ratio);
+		return config;
+	}
+
+	@Benchmark
+	public Config binder() throws ArgsException {
+		return binder.bind(args);
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// registry measures startup: registering every command without compiling a schema. eagerSchemas is the cost the
+// registry avoids. dispatch should not depend on the number of commands.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandBenchmark {
+
+	@Param({ "10", "500" })
+	public int commandCount;
+
+	private String[] names;
+	private String[] schemas;
+	private CommandRegistry<Integer> warmRegistry;
+	private String[] command;
+
+	private static final CommandHandler<Integer> HANDLER = new CommandHandler<Integer>() {
+		@Override
+		public Integer run(Args globalArgs, Args commandArgs) throws ArgsException {
+			return commandArgs.getInt('n');
+		}
+	};
+
+	@Setup
+	public void setUp() throws ArgsException {
+		names = new String[commandCount];
+		schemas = new String[commandCount];
+		for (int i = 0; i < commandCount; i++) {
+			names[i] = "command-" + i;
+			schemas[i] = "a,b*,n#,r##,f[*],dry-run,output-" + i + "*";
+		}
+		warmRegistry = registry();
+		command = new String[] { names[commandCount / 2], "-a", "-n", "42", "--dry-run", "file" };
+		warmRegistry.dispatch(command);
+	}
+
+	@Benchmark
+	public CommandRegistry<Integer> registry() throws ArgsException {
+		CommandRegistry<Integer> registry = new CommandRegistry<Integer>();
+		for (int i = 0; i < commandCount; i++) {
+			registry.register(names[i], schemas[i], HANDLER);
+		}
+		return registry;
+	}
+
+	@Benchmark
+	public Schema[] eagerSchemas() throws ArgsException {
+		Schema[] compiled = new Schema[commandCount];
+		for (int i = 0; i < commandCount; i++) {
+			compiled[i] = new Schema(schemas[i]);
+		}
+		return compiled;
+	}
+
+	@Benchmark
+	public int dispatch() throws ArgsException {
+		return warmRegistry.dispatch(command);
+	}
+
+}
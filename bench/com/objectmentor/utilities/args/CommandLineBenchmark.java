@@ -0,0 +1,91 @@
+package com.objectmentor.utilities.args;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Run with -prof gc. The split benchmarks are the usual way of getting there: decode the input, split it into
+// a String[] with the same quoting rules, then parse that.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandLineBenchmark {
+
+	private static final String COMMAND_LINE =
+		"-vq -p 8080 -t 2.5 --timeout=30s --retries 3 --name 'build server' -- input.txt";
+
+	private Schema schema;
+	private ByteBuffer utf8;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		schema = new Schema("v,q,p#,t##,timeout#T,retries#,name*");
+		utf8 = ByteBuffer.wrap(COMMAND_LINE.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Benchmark
+	public int splitString() throws ArgsException {
+		return read(schema.parse(split(COMMAND_LINE)));
+	}
+
+	@Benchmark
+	public int tokenizeString() throws ArgsException {
+		return read(schema.parse(CommandLine.shell(COMMAND_LINE)));
+	}
+
+	@Benchmark
+	public int splitBytes() throws ArgsException {
+		String decoded = StandardCharsets.UTF_8.decode(utf8.duplicate()).toString();
+		return read(schema.parse(split(decoded)));
+	}
+
+	@Benchmark
+	public int tokenizeBytes() throws ArgsException {
+		return read(schema.parse(CommandLine.shell(utf8)));
+	}
+
+	private static int read(Args args) throws ArgsException {
+		return args.getInt('p') + args.getInt("retries") + args.getString("name").length()
+			+ args.extraArguments().size();
+	}
+
+	private static String[] split(String commandLine) {
+		List<String> tokens = new ArrayList<String>();
+		StringBuilder token = new StringBuilder();
+		boolean inToken = false;
+		char quote = 0;
+		for (int i = 0; i < commandLine.length(); i++) {
+			char c = commandLine.charAt(i);
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				} else {
+					token.append(c);
+				}
+			} else if (c == '\'' || c == '"') {
+				quote = c;
+				inToken = true;
+			} else if (c == ' ') {
+				if (inToken) {
+					tokens.add(token.toString());
+					token.setLength(0);
+					inToken = false;
+				}
+			} else {
+				token.append(c);
+				inToken = true;
+			}
+		}
+		if (inToken) {
+			tokens.add(token.toString());
+		}
+		return tokens.toArray(new String[0]);
+	}
+
+}
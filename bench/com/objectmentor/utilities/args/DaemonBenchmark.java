@@ -0,0 +1,90 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// coldStart runs the same parse and handler in a fresh JVM, which is what every tool invocation pays without the
+// daemon. clientProcess starts a JVM that only runs ArgsClient; daemonRequest is the round trip a native client
+// would see.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaemonBenchmark {
+
+	private static final String SCHEMA = "l,n#,name*";
+	private static final String[] COMMAND = { "-l", "-n", "3", "--name", "bench", "target" };
+
+	private static final DaemonHandler HANDLER = new DaemonHandler() {
+		@Override
+		public int run(Args args, Map<String, String> environment, PrintStream out, PrintStream err)
+			throws ArgsException {
+			for (int i = 0; i < args.getInt('n'); i++) {
+				out.println(args.getString("name") + " " + i);
+			}
+			return args.extraArguments().size() - 1;
+		}
+	};
+
+	private Path directory;
+	private Path socket;
+	private ArgsDaemon daemon;
+	private final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+	public static final class ColdStart {
+
+		public static void main(String[] args) throws ArgsException {
+			System.exit(HANDLER.run(new Schema(SCHEMA).parse(args), System.getenv(), System.out, System.err));
+		}
+
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("args");
+		socket = directory.resolve("bench.sock");
+		daemon = new ArgsDaemon(socket, new Schema(SCHEMA), HANDLER);
+		daemon.start();
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		daemon.close();
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public int daemonRequest() throws IOException {
+		sink.reset();
+		return ArgsClient.run(socket, COMMAND, Collections.<String, String> emptyMap(), sink, sink);
+	}
+
+	@Benchmark
+	public int coldStart() throws Exception {
+		return runJava(ColdStart.class.getName());
+	}
+
+	@Benchmark
+	public int clientProcess() throws Exception {
+		return runJava(ArgsClient.class.getName(), socket.toString());
+	}
+
+	private static int runJava(String... mainAndArguments) throws Exception {
+		List<String> command = new ArrayList<String>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.addAll(Arrays.asList(mainAndArguments));
+		command.addAll(Arrays.asList(COMMAND));
+		Process process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+			.redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		return process.waitFor();
+	}
+
+}
@@ -0,0 +1,133 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorBenchmark {
+
+	private Schema schema;
+	private Schema collectingSchema;
+	private Args args;
+	private ArgsException invalidIntegerException;
+
+	private final String[] unexpectedArgument = { "-q" };
+	private final String[] invalidInteger = { "-p", "eighty" };
+	private final String[] missingInteger = { "-p" };
+	private final String[] invalidDouble = { "-r", "half" };
+	private final String[] missingString = { "-d" };
+	private final String[] manyErrors = { "-p", "eighty", "-q", "-r", "half", "-x", "-d" };
+
+	@Setup
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d*,r##,f[*]");
+		collectingSchema = new Schema("l,p#,d*,r##,f[*]", ParseOption.COLLECT_ERRORS);
+		args = new Args(schema, new String[0]);
+		invalidIntegerException = parse(invalidInteger);
+	}
+
+	private ArgsException parse(String[] argv) {
+		try {
+			new Args(schema, argv);
+			throw new IllegalStateException("Expected a parse failure.");
+		} catch (ArgsException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public ArgsException invalidSchema() {
+		try {
+			new Schema("f~");
+			throw new IllegalStateException("Expected a schema failure.");
+		} catch (ArgsException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public ArgsException unexpectedArgument() {
+		return parse(unexpectedArgument);
+	}
+
+	@Benchmark
+	public ArgsException invalidInteger() {
+		return parse(invalidInteger);
+	}
+
+	@Benchmark
+	public ArgsException missingInteger() {
+		return parse(missingInteger);
+	}
+
+	@Benchmark
+	public ArgsException invalidDouble() {
+		return parse(invalidDouble);
+	}
+
+	@Benchmark
+	public ArgsException missingString() {
+		return parse(missingString);
+	}
+
+	@Benchmark
+	public ParseResult tryParseUnexpectedArgument() {
+		return schema.tryParse(unexpectedArgument);
+	}
+
+	@Benchmark
+	public ParseResult tryParseInvalidInteger() {
+		return schema.tryParse(invalidInteger);
+	}
+
+	@Benchmark
+	public ParseResult tryParseMissingInteger() {
+		return schema.tryParse(missingInteger);
+	}
+
+	@Benchmark
+	public ParseResult tryParseInvalidDouble() {
+		return schema.tryParse(invalidDouble);
+	}
+
+	@Benchmark
+	public ArgsException wrongArgumentType() {
+		try {
+			args.getInt('l');
+			throw new IllegalStateException("Expected a type failure.");
+		} catch (ArgsException e) {
+			return e;
+		}
+	}
+
+	@Benchmark
+	public String errorMessage() {
+		return parse(invalidInteger).getMessage();
+	}
+
+	@Benchmark
+	public String renderMessage() {
+		return invalidIntegerException.getMessage();
+	}
+
+	@Benchmark
+	public ParseResult collectErrors() {
+		return collectingSchema.tryParse(manyErrors);
+	}
+
+	@Benchmark
+	public int collectErrorMessages() {
+		int length = 0;
+		for (ParseError error : collectingSchema.tryParse(manyErrors).getErrors()) {
+			length += error.getMessage().length();
+		}
+		return length;
+	}
+
+}
@@ -0,0 +1,60 @@
+package com.objectmentor.utilities.args;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FallbackBenchmark {
+
+	private Schema schema;
+	private Fallbacks fallbacks;
+	private Path file;
+	private final String[] allOnCommandLine = { "-p", "8080", "-d", "/var" };
+	private final String[] noneOnCommandLine = {};
+
+	@Setup
+	public void setUp() throws IOException, ArgsException {
+		file = Files.createTempFile("fallbacks", ".properties");
+		Files.write(file, "port=7070\ndirectory=/srv\n".getBytes(StandardCharsets.UTF_8));
+		schema = new Schema("p#,d*");
+		ValueSource properties = ValueSource.properties(file);
+		fallbacks = new Fallbacks(schema)
+			.add('p', ValueSource.environment(), "APP_PORT")
+			.add('p', properties, "port")
+			.add('d', ValueSource.environment(), "APP_DIRECTORY")
+			.add('d', properties, "directory");
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+	}
+
+	@Benchmark
+	public int withoutFallbacks() throws ArgsException {
+		Args args = schema.parse(allOnCommandLine);
+		return args.getInt('p') + args.getString('d').length();
+	}
+
+	@Benchmark
+	public int allOnCommandLine() throws ArgsException {
+		Args args = schema.parse(allOnCommandLine, fallbacks);
+		return args.getInt('p') + args.getString('d').length();
+	}
+
+	@Benchmark
+	public int allFromCachedProperties() throws ArgsException {
+		Args args = schema.parse(noneOnCommandLine, fallbacks);
+		return args.getInt('p') + args.getString('d').length();
+	}
+
+}
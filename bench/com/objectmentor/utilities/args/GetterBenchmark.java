@@ -0,0 +1,100 @@
+package com.objectmentor.utilities.args;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetterBenchmark {
+
+	private Args args;
+	private BooleanHandle logging;
+	private IntHandle port;
+	private StringHandle directory;
+	private DoubleHandle ratio;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		String[] argv = new String[2002];
+		argv[0] = "-lp";
+		argv[1] = "8080";
+		for (int i = 0; i < 1000; i++) {
+			argv[2 + 2 * i] = "-f";
+			argv[3 + 2 * i] = "file" + i + ".txt";
+		}
+		args = new Args("l,p#,d*,r##,f[*]", argv);
+		logging = args.getSchema().booleanHandle('l');
+		port = args.getSchema().intHandle('p');
+		directory = args.getSchema().stringHandle('d');
+		ratio = args.getSchema().doubleHandle('r');
+	}
+
+	@Benchmark
+	public boolean found() throws ArgsException {
+		return args.found('d');
+	}
+
+	@Benchmark
+	public boolean getBoolean() throws ArgsException {
+		return args.getBoolean('l');
+	}
+
+	@Benchmark
+	public int getInt() throws ArgsException {
+		return args.getInt('p');
+	}
+
+	@Benchmark
+	public int getIntOrDefault() throws ArgsException {
+		return args.getIntOrDefault('p', 80);
+	}
+
+	@Benchmark
+	public double getDoubleOrDefault() throws ArgsException {
+		return args.getDoubleOrDefault('r', 0.5);
+	}
+
+	@Benchmark
+	public String getStringOrDefault() throws ArgsException {
+		return args.getStringOrDefault('d', "/tmp");
+	}
+
+	@Benchmark
+	public String[] getStringArray() throws ArgsException {
+		return args.getStringArray('f');
+	}
+
+	@Benchmark
+	public List<String> getStringList() throws ArgsException {
+		return args.getStringList('f');
+	}
+
+	@Benchmark
+	public void readSeveralOptions(Blackhole blackhole) throws ArgsException {
+		blackhole.consume(args.getBoolean('l'));
+		blackhole.consume(args.getInt('p'));
+		blackhole.consume(args.getStringOrDefault('d', "/tmp"));
+		blackhole.consume(args.getDoubleOrDefault('r', 0.5));
+	}
+
+	@Benchmark
+	public int handleGetInt() throws ArgsException {
+		return port.get(args);
+	}
+
+	@Benchmark
+	public void handleReadSeveralOptions(Blackhole blackhole) throws ArgsException {
+		blackhole.consume(logging.get(args));
+		blackhole.consume(port.get(args));
+		blackhole.consume(directory.getOrDefault(args, "/tmp"));
+		blackhole.consume(ratio.getOrDefault(args, 0.5));
+	}
+
+}
@@ -0,0 +1,50 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import jdk.jfr.Recording;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+	@Param({ "disabled", "metrics", "metricsAndRecording" })
+	public String mode;
+
+	private Schema schema;
+	private Recording recording;
+	private final String[] argv = { "-l", "-p", "8080", "-d", "/var/log", "file1", "file2" };
+
+	@Setup
+	public void setUp() throws ArgsException {
+		if (mode.equals("disabled")) {
+			schema = new Schema("l,p#,d*,r##,f[*]");
+		} else {
+			schema = new Schema("l,p#,d*,r##,f[*]", ParseOption.INSTRUMENTATION);
+		}
+		if (mode.equals("metricsAndRecording")) {
+			recording = new Recording();
+			recording.enable("com.objectmentor.utilities.args.Parse");
+			recording.start();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	@Benchmark
+	public Args parse() throws ArgsException {
+		return schema.parse(argv);
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyConversionBenchmark {
+
+	private Schema eagerSchema;
+	private Schema lazySchema;
+	private Schema strictLazySchema;
+	private String[] argv;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		StringBuilder schema = new StringBuilder();
+		List<String> arguments = new ArrayList<String>();
+		int count = 0;
+		for (char id = 'A'; count < 60; id++) {
+			if (Character.isLetter(id)) {
+				boolean integer = count % 3 == 0;
+				schema.append(count > 0 ? "," : "").append(id).append(integer ? "#" : "##");
+				arguments.add("-" + id);
+				arguments.add(integer ? Integer.toString(100000 + count) : "0.000123456789012345" + count);
+				count++;
+			}
+		}
+		eagerSchema = new Schema(schema.toString());
+		lazySchema = new Schema(schema.toString(), ParseOption.LAZY_CONVERSION);
+		strictLazySchema = new Schema(schema.toString(), ParseOption.LAZY_CONVERSION, ParseOption.STRICT_VALIDATION);
+		argv = arguments.toArray(new String[0]);
+	}
+
+	private static void readFew(Args args, Blackhole blackhole) throws ArgsException {
+		blackhole.consume(args.getInt('A'));
+		blackhole.consume(args.getDouble('B'));
+		blackhole.consume(args.getDouble('C'));
+	}
+
+	@Benchmark
+	public void eagerParseAndReadThree(Blackhole blackhole) throws ArgsException {
+		readFew(new Args(eagerSchema, argv), blackhole);
+	}
+
+	@Benchmark
+	public void lazyParseAndReadThree(Blackhole blackhole) throws ArgsException {
+		readFew(new Args(lazySchema, argv), blackhole);
+	}
+
+	@Benchmark
+	public void strictLazyParseAndReadThree(Blackhole blackhole) throws ArgsException {
+		readFew(new Args(strictLazySchema, argv), blackhole);
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongNameBenchmark {
+
+	@Param({ "10", "1000" })
+	public int size;
+
+	private String schemaString;
+	private Schema schema;
+	private Args args;
+	private String[] exactArguments;
+	private String[] abbreviatedArguments;
+	private String[] inlineArguments;
+	private String lastName;
+	private String lastArgument;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		StringBuilder elements = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			elements.append(i == 0 ? "" : ",").append("setting-number-").append(i).append(i % 2 == 0 ? "#" : "*");
+		}
+		schemaString = elements.toString() + ",verbose";
+		schema = new Schema(schemaString);
+		int last = size - 2;
+		exactArguments = new String[] { "--verbose", "--setting-number-" + last, "42" };
+		abbreviatedArguments = new String[] { "--verb", "--setting-number-" + last, "42" };
+		inlineArguments = new String[] { "--verbose", "--setting-number-" + last + "=42" };
+		args = schema.parse(exactArguments);
+		lastName = "setting-number-" + last;
+		lastArgument = "--" + lastName;
+	}
+
+	@Benchmark
+	public Schema compileSchema() throws ArgsException {
+		return new Schema(schemaString);
+	}
+
+	@Benchmark
+	public Args parseExactNames() throws ArgsException {
+		return schema.parse(exactArguments);
+	}
+
+	@Benchmark
+	public Args parseAbbreviatedNames() throws ArgsException {
+		return schema.parse(abbreviatedArguments);
+	}
+
+	@Benchmark
+	public Args parseInlineValue() throws ArgsException {
+		return schema.parse(inlineArguments);
+	}
+
+	@Benchmark
+	public int getIntByName() throws ArgsException {
+		return args.getInt(lastName);
+	}
+
+	@Benchmark
+	public int resolveName() {
+		return schema.resolveName(lastArgument, 2, lastArgument.length());
+	}
+
+	@Benchmark
+	public int resolveAbbreviatedName() {
+		return schema.resolveName("--verb", 2, 6);
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.objectmentor.utilities.args;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.*;
+
+import org.openjdk.jmh.annotations.*;
+
+// Run with -prof gc. regexStrings is the workaround the size and duration types replace: string arguments
+// converted with regular expressions after parsing.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LongValueBenchmark {
+
+	private static final Pattern SIZE = Pattern.compile("(\\d+)([kKmMgGtTpP]?)[bB]?");
+	private static final Pattern DURATION = Pattern.compile("(\\d+)(ns|us|ms|s|m|h|d)");
+
+	private Schema typedSchema;
+	private Schema stringSchema;
+	private final String[] command = { "-n", "9000000000", "-m", "64g", "-t", "250ms" };
+
+	@Setup
+	public void setUp() throws ArgsException {
+		typedSchema = new Schema("n#L,m#B,t#T");
+		stringSchema = new Schema("n*,m*,t*");
+	}
+
+	@Benchmark
+	public long typed() throws ArgsException {
+		Args args = typedSchema.parse(command);
+		return args.getLong('n') + args.getSize('m') + args.getDuration('t').toNanos();
+	}
+
+	@Benchmark
+	public long regexStrings() throws ArgsException {
+		Args args = stringSchema.parse(command);
+		return Long.parseLong(args.getString('n')) + size(args.getString('m')) + duration(args.getString('t'));
+	}
+
+	private static long size(String value) {
+		Matcher matcher = SIZE.matcher(value);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException(value);
+		}
+		String unit = matcher.group(2).toLowerCase();
+		int shift = unit.isEmpty() ? 0 : "bkmgtp".indexOf(unit.charAt(0));
+		return Long.parseLong(matcher.group(1)) << shift * 10;
+	}
+
+	private static long duration(String value) {
+		Matcher matcher = DURATION.matcher(value);
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException(value);
+		}
+		long amount = Long.parseLong(matcher.group(1));
+		switch (matcher.group(2)) {
+			case "ns":
+				return amount;
+			case "us":
+				return TimeUnit.MICROSECONDS.toNanos(amount);
+			case "ms":
+				return TimeUnit.MILLISECONDS.toNanos(amount);
+			case "s":
+				return TimeUnit.SECONDS.toNanos(amount);
+			case "m":
+				return TimeUnit.MINUTES.toNanos(amount);
+			case "h":
+				return TimeUnit.HOURS.toNanos(amount);
+			default:
+				return Duration.ofDays(amount).toNanos();
+		}
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+	private Schema schema;
+	private Schema hugeSchema;
+
+	private final String[] typical = { "-l", "-p", "8080", "-d", "/var/log", "-r", "0.75", "input.txt" };
+	private final String[] clustered = { "-xyz", "-lp", "8080" };
+	private final String[] integer = { "-p", "8080" };
+	private final String[] decimal = { "-r", "3.14159" };
+	private String[] repeatedStrings;
+	private String[] hugeSchemaArguments;
+
+	@Param({ "1000" })
+	private int repeats;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,x,y,z,p#,d*,r##,f[*]");
+		hugeSchema = new Schema(SchemaBenchmark.HUGE_SCHEMA);
+
+		repeatedStrings = new String[repeats * 2];
+		for (int i = 0; i < repeats; i++) {
+			repeatedStrings[2 * i] = "-f";
+			repeatedStrings[2 * i + 1] = "file" + i + ".txt";
+		}
+
+		hugeSchemaArguments = new String[] { "-A", "-B", "b", "-C", "42" };
+	}
+
+	@Benchmark
+	public Args typicalCommandLine() throws ArgsException {
+		return new Args(schema, typical);
+	}
+
+	@Benchmark
+	public Args clusteredFlags() throws ArgsException {
+		return new Args(schema, clustered);
+	}
+
+	@Benchmark
+	public Args integerArgument() throws ArgsException {
+		return new Args(schema, integer);
+	}
+
+	@Benchmark
+	public Args doubleArgument() throws ArgsException {
+		return new Args(schema, decimal);
+	}
+
+	@Benchmark
+	public Args repeatedStringArrayArgument() throws ArgsException {
+		return new Args(schema, repeatedStrings);
+	}
+
+	@Benchmark
+	public Args hugeSchema() throws ArgsException {
+		return new Args(hugeSchema, hugeSchemaArguments);
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.objectmentor.utilities.args;
+
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Run with -prof gc. boxedList is the workaround "[#]" replaces: a string list converted into List<Integer>.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayBenchmark {
+
+	@Param({ "1000" })
+	public int shardCount;
+
+	private Schema intSchema;
+	private Schema stringSchema;
+	private String[] command;
+
+	@Setup
+	public void setUp() throws ArgsException {
+		intSchema = new Schema("p[#]");
+		stringSchema = new Schema("p[*]");
+		Random random = new Random(42);
+		command = new String[shardCount * 2];
+		for (int i = 0; i < shardCount; i++) {
+			command[2 * i] = "-p";
+			command[2 * i + 1] = Integer.toString(random.nextInt(1000000));
+		}
+	}
+
+	@Benchmark
+	public long intBuffer() throws ArgsException {
+		IntBuffer shards = intSchema.parse(command).getIntBuffer('p');
+		long sum = 0;
+		for (int i = 0; i < shards.limit(); i++) {
+			sum += shards.get(i);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public long boxedList() throws ArgsException {
+		List<String> values = stringSchema.parse(command).getStringList('p');
+		List<Integer> shards = new ArrayList<Integer>(values.size());
+		for (String value : values) {
+			shards.add(Integer.valueOf(value));
+		}
+		long sum = 0;
+		for (Integer shard : shards) {
+			sum += shard;
+		}
+		return sum;
+	}
+
+}
@@ -0,0 +1,47 @@
+package com.objectmentor.utilities.args;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// read is the request-path cost of a hot-reloaded option; reload is the parse that happens off that path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReloadBenchmark {
+
+	private Path directory;
+	private Path file;
+	private ReloadingArgs reloading;
+
+	@Setup
+	public void setUp() throws IOException, ArgsException {
+		directory = Files.createTempDirectory("args");
+		file = directory.resolve("service.args");
+		Files.write(file, "-p 8080 -r 0.25 --name service -f a.txt -f b.txt\n".getBytes(StandardCharsets.UTF_8));
+		reloading = new ReloadingArgs(new Schema("p#,r##,name*,f[*]"), file);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(file);
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public int read() throws ArgsException {
+		return reloading.current().getInt('p');
+	}
+
+	@Benchmark
+	public boolean reload() {
+		return reloading.reload();
+	}
+
+}
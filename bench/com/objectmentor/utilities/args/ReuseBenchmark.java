@@ -0,0 +1,46 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Run with -prof gc: gc.alloc.rate.norm is the garbage per parsed command.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReuseBenchmark {
+
+	private Schema schema;
+	private Args reusable;
+	private ArgsPool pool;
+	private final String[] command = { "-l", "-p", "8080", "-r", "0.25", "-f", "a.txt", "-f", "b.txt", "target" };
+
+	@Setup
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d*,r##,f[*]");
+		reusable = schema.parse(new String[0]);
+		pool = new ArgsPool(schema);
+	}
+
+	@Benchmark
+	public int newArgs() throws ArgsException {
+		Args args = schema.parse(command);
+		return args.getInt('p') + (int) args.getDouble('r');
+	}
+
+	@Benchmark
+	public int reparse() throws ArgsException {
+		reusable.reparse(command);
+		return reusable.getInt('p') + (int) reusable.getDouble('r');
+	}
+
+	@Benchmark
+	public int pooled() throws ArgsException {
+		Args args = pool.parse(command);
+		return args.getInt('p') + (int) args.getDouble('r');
+	}
+
+}
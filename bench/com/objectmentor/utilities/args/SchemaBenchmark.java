@@ -0,0 +1,56 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+	static final String SMALL_SCHEMA = "l,p#,d*,r##,f[*]";
+	static final String HUGE_SCHEMA = hugeSchema(1000);
+
+	private final String[] noArguments = new String[0];
+
+	static String hugeSchema(int size) {
+		StringBuilder schema = new StringBuilder();
+		String[] tails = { "", "*", "#", "##", "[*]" };
+		int count = 0;
+		for (char id = 'A'; count < size; id++) {
+			if (Character.isLetter(id)) {
+				if (count > 0) {
+					schema.append(',');
+				}
+				schema.append(id).append(tails[count % tails.length]);
+				count++;
+			}
+		}
+		return schema.toString();
+	}
+
+	@Benchmark
+	public Schema compileSmallSchema() throws ArgsException {
+		return new Schema(SMALL_SCHEMA);
+	}
+
+	@Benchmark
+	public Schema compileHugeSchema() throws ArgsException {
+		return new Schema(HUGE_SCHEMA);
+	}
+
+	@Benchmark
+	public Args constructArgsFromSmallSchemaString() throws ArgsException {
+		return new Args(SMALL_SCHEMA, noArguments);
+	}
+
+	@Benchmark
+	public Args constructArgsFromHugeSchemaString() throws ArgsException {
+		return new Args(HUGE_SCHEMA, noArguments);
+	}
+
+}
@@ -0,0 +1,42 @@
+package com.objectmentor.utilities.args;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+// Each fork measures a single cold call, so class loading and interpretation dominate as in a short-lived CLI.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+	@GenerateParser
+	public static class Config {
+		@Argument('l') boolean logging;
+		@Argument('p') int port = 80;
+		@Argument('d') String directory = "/tmp";
+		@Argument('r') double ratio = 0.5;
+		@Argument('f') String[] files;
+	}
+
+	private final String[] argv = { "-l", "-p", "8080", "-d", "/var", "-r", "0.25", "-f", "a", "-f", "b" };
+
+	@Benchmark
+	public Args args() throws ArgsException {
+		return new Args("l,p#,d*,r##,f[*]", argv);
+	}
+
+	@Benchmark
+	public Config binder() throws ArgsException {
+		return Binder.of(Config.class).parse(argv);
+	}
+
+	@Benchmark
+	public Config generatedParser() throws ArgsException {
+		return StartupBenchmark_ConfigParser.parse(argv);
+	}
+
+}
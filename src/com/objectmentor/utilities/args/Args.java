@@ -2,111 +2,583 @@ package com.objectmentor.utilities.args;
 
 import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 
+import java.nio.*;
+import java.time.Duration;
 import java.util.*;
 
+import com.objectmentor.utilities.args.ArgsException.ErrorCode;
+
 public class Args {
 
-	private Map<Character, ArgumentMarshaler> marshalers;
-	private Set<Character> argsFound;
-	private ListIterator<String> argsIterator;
+	private static final String[] NO_ARGUMENTS = new String[0];
+
+	private final Schema schema;
+	private final ArgumentMarshaler[] marshalers;
+	private final BitSet argsFound;
+	private final Fallbacks fallbacks;
+	private final BitSet fallbacksResolved;
+	private ValueSource[] valueSources;
+	private int extraArgumentsIndex;
+	private String[] extraArgumentsSource = NO_ARGUMENTS;
+	private List<String> extraArguments;
+	private List<ParseError> collectedErrors;
 
 	public Args(String schema, String[] args) throws ArgsException {
-		marshalers = new HashMap<Character, ArgumentMarshaler>();
-		argsFound = new HashSet<Character>();
+		this(new Schema(schema), args);
+	}
+
+	public Args(Schema schema, String[] args) throws ArgsException {
+		this(schema, args, null);
+	}
+
+	public Args(Schema schema, String[] args, Fallbacks fallbacks) throws ArgsException {
+		this(schema, fallbacks);
+		try {
+			parseArguments(args);
+		} catch (ArgsException e) {
+			throw e.withStackTrace();
+		}
+	}
+
+	public Args(Schema schema, CommandLine commandLine) throws ArgsException {
+		this(schema, (Fallbacks) null);
+		try {
+			parseArguments(commandLine);
+		} catch (ArgsException e) {
+			throw e.withStackTrace();
+		}
+	}
+
+	Args(Schema schema) {
+		this(schema, (Fallbacks) null);
+	}
+
+	Args(Schema schema, Fallbacks fallbacks) {
+		if (fallbacks != null && fallbacks.getSchema() != schema) {
+			throw new IllegalArgumentException("Fallbacks belong to a different schema.");
+		}
+		this.schema = schema;
+		this.fallbacks = fallbacks;
+		marshalers = schema.createMarshalers();
+		argsFound = new BitSet(marshalers.length);
+		fallbacksResolved = fallbacks == null ? null : new BitSet(marshalers.length);
+	}
 
-		parseSchema(schema);
-		parseArguments(Arrays.asList(args));
+	public Schema getSchema() {
+		return schema;
 	}
 
-	private void parseSchema(String schema) throws ArgsException {
-		for (String element : schema.split(",")) {
-			element = element.trim();
-			if (element.length() > 0) {
-				parseSchemaElement(element);
+	// Parses a new command line into this instance, reusing its marshalers. Values and views obtained before are
+	// not affected, except that this Args itself now reports the new command line. After a failure it is empty.
+	public void reparse(String[] args) throws ArgsException {
+		reset();
+		try {
+			parseArguments(args);
+		} catch (ArgsException e) {
+			reset();
+			throw e.withStackTrace();
+		}
+	}
+
+	public void reparse(CommandLine commandLine) throws ArgsException {
+		reset();
+		try {
+			parseArguments(commandLine);
+		} catch (ArgsException e) {
+			reset();
+			throw e.withStackTrace();
+		}
+	}
+
+	// Only marshalers of found arguments have been written to, so only those need clearing.
+	private void reset() {
+		for (int slot = argsFound.nextSetBit(0); slot >= 0; slot = argsFound.nextSetBit(slot + 1)) {
+			((ResettableArgumentMarshaler) marshalers[slot]).reset();
+		}
+		argsFound.clear();
+		if (fallbacks != null) {
+			fallbacksResolved.clear();
+			if (valueSources != null) {
+				Arrays.fill(valueSources, null);
 			}
 		}
+		extraArgumentsIndex = 0;
+		extraArgumentsSource = NO_ARGUMENTS;
+		extraArguments = null;
+		collectedErrors = null;
 	}
 
-	private void parseSchemaElement(String element) throws ArgsException {
-		char elementId = element.charAt(0);
-		String elementTail = element.substring(1);
-		validateSchemaElementId(elementId);
-		if (elementTail.length() == 0) {
-			marshalers.put(elementId, new BooleanArgumentMarshaler());
-		} else if (elementTail.equals("*")) {
-			marshalers.put(elementId, new StringArgumentMarshaler());
-		} else if (elementTail.equals("#")) {
-			marshalers.put(elementId, new IntegerArgumentMarshaler());
-		} else if (elementTail.equals("##")) {
-			marshalers.put(elementId, new DoubleArgumentMarshaler());
-		} else if (elementTail.equals("[*]")) {
-			marshalers.put(elementId, new StringArrayArgumentMarshaler());
-		} else {
-			throw new ArgsException(INVALID_ARGUMENT_FORMAT, elementId, elementTail);
+	void parseArguments(String[] args) throws ArgsException {
+		parseArguments(args, null);
+	}
+
+	void parseArguments(CommandLine commandLine) throws ArgsException {
+		parseArguments(null, commandLine.tokenizer());
+	}
+
+	// Parses either an argv array or the tokens of a command line, whichever is not null.
+	private void parseArguments(String[] args, CommandLineTokenizer tokens) throws ArgsException {
+		ParseMetrics metrics = schema.getMetrics();
+		if (metrics == null) {
+			parseCommandLine(args, tokens);
+			return;
 		}
+		ParseEvent event = new ParseEvent();
+		event.begin();
+		long start = System.nanoTime();
+		try {
+			parseCommandLine(args, tokens);
+		} catch (ArgsException e) {
+			List<ParseError> errors = collectedErrors();
+			if (errors.isEmpty()) {
+				errors = Collections.singletonList(new ParseError(e));
+			}
+			metrics.recordFailure(errors, System.nanoTime() - start);
+			commitParseEvent(event, args != null ? args.length : tokens.tokenCount(), e, errors);
+			throw e;
+		}
+		metrics.recordSuccess(argsFound, System.nanoTime() - start);
+		commitParseEvent(event, args != null ? args.length : tokens.tokenCount(), null,
+			Collections.<ParseError> emptyList());
 	}
 
-	private void validateSchemaElementId(char elementId) throws ArgsException {
-		if (!Character.isLetter(elementId)) {
-			throw new ArgsException(INVALID_ARGUMENT_NAME, elementId);
+	private static void commitParseEvent(ParseEvent event, int argumentCount, ArgsException e,
+		List<ParseError> errors) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.argumentCount = argumentCount;
+			event.success = e == null;
+			event.errorCode = e == null ? null : e.getErrorCode().name();
+			event.commit();
+		}
+		for (ParseError error : errors) {
+			ParseErrorEvent errorEvent = new ParseErrorEvent();
+			if (errorEvent.shouldCommit()) {
+				errorEvent.errorCode = error.getErrorCode().name();
+				errorEvent.argument = error.getErrorArgumentName() != null ? "--" + error.getErrorArgumentName()
+					: error.getErrorArgumentId() != '\0' ? "-" + error.getErrorArgumentId() : null;
+				errorEvent.parameter = error.getErrorParameter();
+				errorEvent.commit();
+			}
+		}
+	}
+
+	// With ParseOption.COLLECT_ERRORS, errors are collected while parsing continues, and the first one is thrown
+	// at the end. An error that ends parsing, like an unreadable argument file, is collected last.
+	private void parseCommandLine(String[] args, CommandLineTokenizer tokens) throws ArgsException {
+		if (!schema.hasOption(ParseOption.COLLECT_ERRORS)) {
+			parseTokens(args, tokens);
+			return;
+		}
+		collectedErrors = new ArrayList<ParseError>();
+		try {
+			parseTokens(args, tokens);
+		} catch (ArgsException e) {
+			collectedErrors.add(new ParseError(e));
+		}
+		if (!collectedErrors.isEmpty()) {
+			throw collectedErrors.get(0).toException(false);
+		}
+	}
+
+	List<ParseError> collectedErrors() {
+		return collectedErrors == null ? Collections.<ParseError> emptyList() : collectedErrors;
+	}
+
+	// A malformed command line cannot be tokenized any further, so it always ends parsing.
+	private void collect(ArgsException e) throws ArgsException {
+		if (collectedErrors == null || e.getErrorCode() == MALFORMED_COMMAND_LINE) {
+			throw e;
+		}
+		collectedErrors.add(new ParseError(e));
+	}
+
+	// Resumes after a collected error. An argument with a value that failed to convert consumed that value; an
+	// unknown argument or an inline value did not consume anything.
+	private static int skipFailedValue(ArgsException e, boolean valueFollows, String[] args, int nextArgument) {
+		ErrorCode errorCode = e.getErrorCode();
+		if (!valueFollows || errorCode == UNEXPECTED_ARGUMENT || errorCode == AMBIGUOUS_ARGUMENT) {
+			return nextArgument;
+		}
+		return Math.min(nextArgument + 1, args.length);
+	}
+
+	private void parseTokens(String[] args, CommandLineTokenizer tokens) throws ArgsException {
+		if (tokens != null) {
+			parseTokens(tokens);
+		} else {
+			parseTokens(args);
 		}
 	}
 
-	private void parseArguments(List<String> argsList) throws ArgsException {
-		for (argsIterator = argsList.listIterator(); argsIterator.hasNext();) {
-			String argString = argsIterator.next();
-			if (argString.startsWith("-")) {
-				parseArgumentCharacters(argString.substring(1));
+	private void parseTokens(String[] args) throws ArgsException {
+		if (schema.hasOption(ParseOption.EXPAND_ARGUMENT_FILES)) {
+			parseExpandedArguments(args);
+			return;
+		}
+		int currentArgument = 0;
+		while (currentArgument < args.length && args[currentArgument].startsWith("-")) {
+			String argString = args[currentArgument];
+			if (argString.equals("--")) {
+				currentArgument++;
+				break;
+			} else if (argString.startsWith("--")) {
+				try {
+					currentArgument = parseLongArgument(argString, args, currentArgument + 1);
+				} catch (ArgsException e) {
+					collect(e);
+					currentArgument = skipFailedValue(e, argString.indexOf('=') < 0, args, currentArgument + 1);
+				}
 			} else {
-				argsIterator.previous();
+				currentArgument = parseArgumentCharacters(args, currentArgument);
+			}
+		}
+		extraArgumentsIndex = currentArgument;
+		extraArgumentsSource = args;
+	}
+
+	private void parseExpandedArguments(String[] args) throws ArgsException {
+		ArgumentFileIterator currentArgument = new ArgumentFileIterator(args);
+		try {
+			while (currentArgument.hasNext() && currentArgument.peek().startsWith("-")) {
+				String argString = currentArgument.next();
+				if (argString.equals("--")) {
+					break;
+				} else if (argString.startsWith("--")) {
+					try {
+						parseLongArgument(argString, currentArgument);
+					} catch (ArgsException e) {
+						collect(e);
+					}
+					continue;
+				}
+				for (int i = 1; i < argString.length(); i++) {
+					try {
+						parseArgumentCharacter(argString.charAt(i), currentArgument);
+					} catch (ArgsException e) {
+						collect(e);
+					}
+				}
+			}
+			extraArgumentsIndex = currentArgument.consumed();
+			extraArguments = Collections.unmodifiableList(currentArgument.remaining());
+		} catch (ArgumentFileIterator.Failure e) {
+			throw e.getArgsException();
+		} finally {
+			currentArgument.close();
+		}
+	}
+
+	// Argument files are not expanded here. Tokens are only turned into strings when a marshaler keeps them or
+	// they are extra arguments.
+	private void parseTokens(CommandLineTokenizer tokens) throws ArgsException {
+		boolean hasToken = tokens.next();
+		while (hasToken && startsWithDash(tokens.token())) {
+			CharSequence token = tokens.token();
+			if (token.length() == 2 && token.charAt(1) == '-') {
+				hasToken = tokens.next();
 				break;
+			} else if (token.length() > 1 && token.charAt(1) == '-') {
+				try {
+					parseLongArgument(tokens);
+				} catch (ArgsException e) {
+					collect(e);
+				}
+			} else {
+				parseArgumentCharacters(tokens);
+			}
+			hasToken = tokens.next();
+		}
+		extraArgumentsIndex = hasToken ? tokens.tokenCount() - 1 : tokens.tokenCount();
+		List<String> remaining = new ArrayList<String>();
+		for (; hasToken; hasToken = tokens.next()) {
+			remaining.add(tokens.token().toString());
+		}
+		extraArguments = Collections.unmodifiableList(remaining);
+	}
+
+	private static boolean startsWithDash(CharSequence token) {
+		return token.length() > 0 && token.charAt(0) == '-';
+	}
+
+	// The flags are copied first, because reading their values overwrites the token.
+	private void parseArgumentCharacters(CommandLineTokenizer tokens) throws ArgsException {
+		int length = tokens.token().length();
+		char[] flags = tokens.saveToken();
+		for (int i = 1; i < length; i++) {
+			try {
+				ArgumentMarshaler m = getFoundMarshaler(flags[i]);
+				try {
+					setNextValue(m, tokens);
+				} catch (ArgsException e) {
+					e.setErrorArgumentId(flags[i]);
+					throw e;
+				}
+			} catch (ArgsException e) {
+				collect(e);
 			}
 		}
 	}
 
-	private void parseArgumentCharacters(String argChars) throws ArgsException {
-		for (int i = 0; i < argChars.length(); i++) {
-			parseArgumentCharacter(argChars.charAt(i));
+	private void parseLongArgument(CommandLineTokenizer tokens) throws ArgsException {
+		CharSequence token = tokens.token();
+		int valueIndex = indexOf(token, '=');
+		int slot = getFoundLongSlot(token, valueIndex < 0 ? token.length() : valueIndex);
+		try {
+			if (valueIndex < 0) {
+				setNextValue(marshalers[slot], tokens);
+			} else if (marshalers[slot] instanceof ValueArgumentMarshaler) {
+				((ValueArgumentMarshaler) marshalers[slot]).set(tokens.tokenFrom(valueIndex + 1));
+			} else {
+				setInlineValue(marshalers[slot], tokens.tokenFrom(valueIndex + 1).toString());
+			}
+		} catch (ArgsException e) {
+			e.setErrorArgumentName(schema.nameOf(slot));
+			throw e;
 		}
 	}
 
-	private void parseArgumentCharacter(char argChar) throws ArgsException {
-		ArgumentMarshaler m = marshalers.get(argChar);
-		if (m == null) {
-			throw new ArgsException(UNEXPECTED_ARGUMENT, argChar);
+	// A missing value is reported by the marshaler itself, so that it can use its own error code.
+	private static void setNextValue(ArgumentMarshaler marshaler, CommandLineTokenizer tokens) throws ArgsException {
+		if (!(marshaler instanceof ValueArgumentMarshaler)) {
+			marshaler.set(Collections.<String> emptyIterator());
+		} else if (tokens.next()) {
+			((ValueArgumentMarshaler) marshaler).set(tokens.token());
 		} else {
-			argsFound.add(argChar);
+			marshaler.set(Collections.<String> emptyIterator());
+		}
+	}
+
+	private static int indexOf(CharSequence token, char c) {
+		for (int i = 0; i < token.length(); i++) {
+			if (token.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int parseArgumentCharacters(String[] args, int currentArgument) throws ArgsException {
+		String argString = args[currentArgument];
+		int nextArgument = currentArgument + 1;
+		for (int i = 1; i < argString.length(); i++) {
 			try {
-				m.set(argsIterator);
+				nextArgument = parseArgumentCharacter(argString.charAt(i), args, nextArgument);
 			} catch (ArgsException e) {
-				e.setErrorArgumentId(argChar);
-				throw e;
+				collect(e);
+				nextArgument = skipFailedValue(e, true, args, nextArgument);
 			}
 		}
+		return nextArgument;
+	}
+
+	private int parseArgumentCharacter(char argChar, String[] args, int nextArgument) throws ArgsException {
+		ArgumentMarshaler m = getFoundMarshaler(argChar);
+		try {
+			return m.set(args, nextArgument);
+		} catch (ArgsException e) {
+			e.setErrorArgumentId(argChar);
+			throw e;
+		}
+	}
+
+	private void parseArgumentCharacter(char argChar, Iterator<String> currentArgument) throws ArgsException {
+		ArgumentMarshaler m = getFoundMarshaler(argChar);
+		try {
+			m.set(currentArgument);
+		} catch (ArgsException e) {
+			e.setErrorArgumentId(argChar);
+			throw e;
+		}
+	}
+
+	private int parseLongArgument(String argString, String[] args, int nextArgument) throws ArgsException {
+		int valueIndex = argString.indexOf('=');
+		int slot = getFoundLongSlot(argString, valueIndex < 0 ? argString.length() : valueIndex);
+		try {
+			if (valueIndex < 0) {
+				return marshalers[slot].set(args, nextArgument);
+			}
+			setInlineValue(marshalers[slot], argString.substring(valueIndex + 1));
+			return nextArgument;
+		} catch (ArgsException e) {
+			e.setErrorArgumentName(schema.nameOf(slot));
+			throw e;
+		}
+	}
+
+	private void parseLongArgument(String argString, Iterator<String> currentArgument) throws ArgsException {
+		int valueIndex = argString.indexOf('=');
+		int slot = getFoundLongSlot(argString, valueIndex < 0 ? argString.length() : valueIndex);
+		try {
+			if (valueIndex < 0) {
+				marshalers[slot].set(currentArgument);
+			} else {
+				setInlineValue(marshalers[slot], argString.substring(valueIndex + 1));
+			}
+		} catch (ArgsException e) {
+			e.setErrorArgumentName(schema.nameOf(slot));
+			throw e;
+		}
+	}
+
+	private static void setInlineValue(ArgumentMarshaler marshaler, String value) throws ArgsException {
+		Iterator<String> values = Collections.singletonList(value).iterator();
+		marshaler.set(values);
+		if (values.hasNext()) {
+			throw new ArgsException(UNEXPECTED_VALUE, '\0', value, false);
+		}
+	}
+
+	private int getFoundLongSlot(CharSequence argString, int nameEnd) throws ArgsException {
+		int slot = schema.resolveName(argString, 2, nameEnd);
+		if (slot < 0) {
+			ErrorCode errorCode = slot == NameTrie.AMBIGUOUS ? AMBIGUOUS_ARGUMENT : UNEXPECTED_ARGUMENT;
+			ArgsException e = new ArgsException(errorCode, '\0', null, false);
+			e.setErrorArgumentName(argString.subSequence(2, nameEnd).toString());
+			throw e;
+		}
+		argsFound.set(slot);
+		return slot;
+	}
+
+	private ArgumentMarshaler getFoundMarshaler(char argChar) throws ArgsException {
+		int slot = schema.slotOf(argChar);
+		if (slot < 0) {
+			throw new ArgsException(UNEXPECTED_ARGUMENT, argChar, null, false);
+		}
+		argsFound.set(slot);
+		return marshalers[slot];
 	}
 
 	public boolean found(char arg) throws ArgsException {
-		validateArgumentId(arg);
-		return argsFound.contains(arg);
+		return foundAt(schema.validateSlot(arg));
+	}
+
+	public boolean found(String name) throws ArgsException {
+		return foundAt(schema.validateSlot(name));
+	}
+
+	// Returns ValueSource.ARGUMENTS, the fallback source that supplied the value, or null if no layer did.
+	public ValueSource sourceOf(char arg) throws ArgsException {
+		return sourceAt(schema.validateSlot(arg));
+	}
+
+	public ValueSource sourceOf(String name) throws ArgsException {
+		return sourceAt(schema.validateSlot(name));
+	}
+
+	private ValueSource sourceAt(int slot) throws ArgsException {
+		if (!foundAt(slot)) {
+			return null;
+		}
+		return valueSources != null && valueSources[slot] != null ? valueSources[slot] : ValueSource.ARGUMENTS;
+	}
+
+	boolean foundAt(int slot) throws ArgsException {
+		resolveFallback(slot);
+		return argsFound.get(slot);
+	}
+
+	ArgumentMarshaler marshalerAt(int slot) throws ArgsException {
+		resolveFallback(slot);
+		return marshalers[slot];
+	}
+
+	// Consults the fallback sources of an argument missing from the command line, at most once per argument.
+	private void resolveFallback(int slot) throws ArgsException {
+		if (fallbacks == null || argsFound.get(slot) || fallbacksResolved.get(slot)) {
+			return;
+		}
+		for (int i = 0; i < fallbacks.sourceCount(slot); i++) {
+			ValueSource source = fallbacks.source(slot, i);
+			String value = source.get(fallbacks.key(slot, i));
+			if (value != null) {
+				setFallbackValue(slot, value);
+				argsFound.set(slot);
+				if (valueSources == null) {
+					valueSources = new ValueSource[marshalers.length];
+				}
+				valueSources[slot] = source;
+				break;
+			}
+		}
+		fallbacksResolved.set(slot);
+	}
+
+	private void setFallbackValue(int slot, String value) throws ArgsException {
+		try {
+			if (schema.typeOf(slot) != ArgumentType.BOOLEAN) {
+				setInlineValue(marshalers[slot], value);
+			} else if (value.equalsIgnoreCase("true")) {
+				marshalers[slot].set(Collections.<String> emptyIterator());
+			} else if (!value.equalsIgnoreCase("false")) {
+				throw new ArgsException(INVALID_BOOLEAN, '\0', value, false);
+			}
+		} catch (ArgsException e) {
+			ArgsException converted = schema.argumentException(e.getErrorCode(), slot);
+			converted.setErrorParameter(e.getErrorParameter());
+			throw converted;
+		}
 	}
 
 	public int extraArgumentsIndex() {
-		return argsIterator.nextIndex();
+		return extraArgumentsIndex;
+	}
+
+	public List<String> extraArguments() {
+		if (extraArguments == null) {
+			extraArguments = Collections.unmodifiableList(
+				Arrays.asList(extraArgumentsSource).subList(extraArgumentsIndex, extraArgumentsSource.length));
+		}
+		return extraArguments;
+	}
+
+	public ArgsSnapshot snapshot() throws ArgsException {
+		for (int slot = 0; slot < marshalers.length; slot++) {
+			resolveFallback(slot);
+			convert(slot, marshalers[slot]);
+		}
+		return new ArgsSnapshot(schema, marshalers, argsFound, extraArgumentsIndex, extraArguments());
 	}
 
 	public boolean getBoolean(char arg) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, BooleanArgumentMarshaler.class);
+		return getBoolean(schema.validateSlot(arg));
+	}
+
+	public boolean getBoolean(String name) throws ArgsException {
+		return getBoolean(schema.validateSlot(name));
+	}
+
+	private boolean getBoolean(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, BooleanArgumentMarshaler.class);
 		return BooleanArgumentMarshaler.getValue(marshaler);
 	}
 
 	public String getString(char arg) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, StringArgumentMarshaler.class);
+		return getString(schema.validateSlot(arg));
+	}
+
+	public String getString(String name) throws ArgsException {
+		return getString(schema.validateSlot(name));
+	}
+
+	private String getString(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, StringArgumentMarshaler.class);
 		return StringArgumentMarshaler.getValue(marshaler);
 	}
 
 	public String getStringOrDefault(char arg, String defaultValue) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, StringArgumentMarshaler.class);
-		if (found(arg)) {
+		return getStringOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public String getStringOrDefault(String name, String defaultValue) throws ArgsException {
+		return getStringOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private String getStringOrDefault(int slot, String defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, StringArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
 			return StringArgumentMarshaler.getValue(marshaler);
 		} else {
 			return defaultValue;
@@ -114,13 +586,29 @@ public class Args {
 	}
 
 	public int getInt(char arg) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, IntegerArgumentMarshaler.class);
+		return getInt(schema.validateSlot(arg));
+	}
+
+	public int getInt(String name) throws ArgsException {
+		return getInt(schema.validateSlot(name));
+	}
+
+	private int getInt(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, IntegerArgumentMarshaler.class);
 		return IntegerArgumentMarshaler.getValue(marshaler);
 	}
 
 	public int getIntOrDefault(char arg, int defaultValue) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, IntegerArgumentMarshaler.class);
-		if (found(arg)) {
+		return getIntOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public int getIntOrDefault(String name, int defaultValue) throws ArgsException {
+		return getIntOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private int getIntOrDefault(int slot, int defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, IntegerArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
 			return IntegerArgumentMarshaler.getValue(marshaler);
 		} else {
 			return defaultValue;
@@ -128,38 +616,226 @@ public class Args {
 	}
 
 	public double getDouble(char arg) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, DoubleArgumentMarshaler.class);
+		return getDouble(schema.validateSlot(arg));
+	}
+
+	public double getDouble(String name) throws ArgsException {
+		return getDouble(schema.validateSlot(name));
+	}
+
+	private double getDouble(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DoubleArgumentMarshaler.class);
 		return DoubleArgumentMarshaler.getValue(marshaler);
 	}
 
 	public double getDoubleOrDefault(char arg, double defaultValue) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, DoubleArgumentMarshaler.class);
-		if (found(arg)) {
+		return getDoubleOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public double getDoubleOrDefault(String name, double defaultValue) throws ArgsException {
+		return getDoubleOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private double getDoubleOrDefault(int slot, double defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DoubleArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
 			return DoubleArgumentMarshaler.getValue(marshaler);
 		} else {
 			return defaultValue;
 		}
 	}
 
+	public long getLong(char arg) throws ArgsException {
+		return getLong(schema.validateSlot(arg));
+	}
+
+	public long getLong(String name) throws ArgsException {
+		return getLong(schema.validateSlot(name));
+	}
+
+	private long getLong(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, LongArgumentMarshaler.class);
+		return LongArgumentMarshaler.getValue(marshaler);
+	}
+
+	public long getLongOrDefault(char arg, long defaultValue) throws ArgsException {
+		return getLongOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public long getLongOrDefault(String name, long defaultValue) throws ArgsException {
+		return getLongOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private long getLongOrDefault(int slot, long defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, LongArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
+			return LongArgumentMarshaler.getValue(marshaler);
+		} else {
+			return defaultValue;
+		}
+	}
+
+	public long getSize(char arg) throws ArgsException {
+		return getSize(schema.validateSlot(arg));
+	}
+
+	public long getSize(String name) throws ArgsException {
+		return getSize(schema.validateSlot(name));
+	}
+
+	private long getSize(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, SizeArgumentMarshaler.class);
+		return SizeArgumentMarshaler.getValue(marshaler);
+	}
+
+	public long getSizeOrDefault(char arg, long defaultValue) throws ArgsException {
+		return getSizeOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public long getSizeOrDefault(String name, long defaultValue) throws ArgsException {
+		return getSizeOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private long getSizeOrDefault(int slot, long defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, SizeArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
+			return SizeArgumentMarshaler.getValue(marshaler);
+		} else {
+			return defaultValue;
+		}
+	}
+
+	public Duration getDuration(char arg) throws ArgsException {
+		return getDuration(schema.validateSlot(arg));
+	}
+
+	public Duration getDuration(String name) throws ArgsException {
+		return getDuration(schema.validateSlot(name));
+	}
+
+	private Duration getDuration(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DurationArgumentMarshaler.class);
+		return DurationArgumentMarshaler.getValue(marshaler);
+	}
+
+	public Duration getDurationOrDefault(char arg, Duration defaultValue) throws ArgsException {
+		return getDurationOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public Duration getDurationOrDefault(String name, Duration defaultValue) throws ArgsException {
+		return getDurationOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private Duration getDurationOrDefault(int slot, Duration defaultValue) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DurationArgumentMarshaler.class);
+		if (argsFound.get(slot)) {
+			return DurationArgumentMarshaler.getValue(marshaler);
+		} else {
+			return defaultValue;
+		}
+	}
+
 	public String[] getStringArray(char arg) throws ArgsException {
-		ArgumentMarshaler marshaler = getAndValidateMarshaler(arg, StringArrayArgumentMarshaler.class);
+		return getStringArray(schema.validateSlot(arg));
+	}
+
+	public String[] getStringArray(String name) throws ArgsException {
+		return getStringArray(schema.validateSlot(name));
+	}
+
+	private String[] getStringArray(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, StringArrayArgumentMarshaler.class);
 		return StringArrayArgumentMarshaler.getValue(marshaler);
 	}
 
-	private void validateArgumentId(char arg) throws ArgsException {
-		if (!marshalers.containsKey(arg)) {
-			throw new ArgsException(UNKNOWN_ARGUMENT_NAME, arg);
-		}
+	public List<String> getStringList(char arg) throws ArgsException {
+		return getStringList(schema.validateSlot(arg));
+	}
+
+	public List<String> getStringList(String name) throws ArgsException {
+		return getStringList(schema.validateSlot(name));
+	}
+
+	private List<String> getStringList(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, StringArrayArgumentMarshaler.class);
+		return StringArrayArgumentMarshaler.getList(marshaler);
 	}
 
-	private ArgumentMarshaler getAndValidateMarshaler(char arg, Class<? extends ArgumentMarshaler> clazz)
+	public int[] getIntArray(char arg) throws ArgsException {
+		return getIntArray(schema.validateSlot(arg));
+	}
+
+	public int[] getIntArray(String name) throws ArgsException {
+		return getIntArray(schema.validateSlot(name));
+	}
+
+	private int[] getIntArray(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, IntegerArrayArgumentMarshaler.class);
+		return IntegerArrayArgumentMarshaler.getValue(marshaler);
+	}
+
+	public IntBuffer getIntBuffer(char arg) throws ArgsException {
+		return getIntBuffer(schema.validateSlot(arg));
+	}
+
+	public IntBuffer getIntBuffer(String name) throws ArgsException {
+		return getIntBuffer(schema.validateSlot(name));
+	}
+
+	private IntBuffer getIntBuffer(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, IntegerArrayArgumentMarshaler.class);
+		return IntegerArrayArgumentMarshaler.getBuffer(marshaler);
+	}
+
+	public double[] getDoubleArray(char arg) throws ArgsException {
+		return getDoubleArray(schema.validateSlot(arg));
+	}
+
+	public double[] getDoubleArray(String name) throws ArgsException {
+		return getDoubleArray(schema.validateSlot(name));
+	}
+
+	private double[] getDoubleArray(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DoubleArrayArgumentMarshaler.class);
+		return DoubleArrayArgumentMarshaler.getValue(marshaler);
+	}
+
+	public DoubleBuffer getDoubleBuffer(char arg) throws ArgsException {
+		return getDoubleBuffer(schema.validateSlot(arg));
+	}
+
+	public DoubleBuffer getDoubleBuffer(String name) throws ArgsException {
+		return getDoubleBuffer(schema.validateSlot(name));
+	}
+
+	private DoubleBuffer getDoubleBuffer(int slot) throws ArgsException {
+		ArgumentMarshaler marshaler = getAndValidateMarshaler(slot, DoubleArrayArgumentMarshaler.class);
+		return DoubleArrayArgumentMarshaler.getBuffer(marshaler);
+	}
+
+	private ArgumentMarshaler getAndValidateMarshaler(int slot, Class<? extends ArgumentMarshaler> clazz)
 		throws ArgsException {
-		validateArgumentId(arg);
-		ArgumentMarshaler marshaler = marshalers.get(arg);
+		ArgumentMarshaler marshaler = marshalers[slot];
 		if (!clazz.isInstance(marshaler)) {
-			throw new ArgsException(WRONG_ARGUMENT_TYPE, arg);
+			throw schema.argumentException(WRONG_ARGUMENT_TYPE, slot);
 		}
+		resolveFallback(slot);
+		convert(slot, marshaler);
 		return marshaler;
 	}
 
+	// Asks the schema rather than testing instanceof, because a failed interface check is not cached and costs as
+	// much as the rest of a getter.
+	void convert(int slot, ArgumentMarshaler marshaler) throws ArgsException {
+		if (schema.isLazy(slot)) {
+			try {
+				((LazyArgumentMarshaler) marshaler).convert();
+			} catch (ArgsException e) {
+				ArgsException converted = schema.argumentException(e.getErrorCode(), slot);
+				converted.setErrorParameter(e.getErrorParameter());
+				throw converted;
+			}
+		}
+	}
+
 }
\ No newline at end of file
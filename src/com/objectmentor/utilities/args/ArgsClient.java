@@ -0,0 +1,39 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Sends a command line to an ArgsDaemon and relays its output and exit code.
+public final class ArgsClient {
+
+	private ArgsClient() {}
+
+	public static int run(Path socketPath, String[] args, Map<String, String> environment, OutputStream out,
+		OutputStream err) throws IOException {
+		SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+		try {
+			DataOutputStream request =
+				new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			DaemonProtocol.writeRequest(request, args, environment);
+			DataInputStream response = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			return DaemonProtocol.readResponse(response, out, err);
+		} finally {
+			channel.close();
+		}
+	}
+
+	// Usage: ArgsClient <socket> [arguments...]
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: ArgsClient <socket> [arguments...]");
+			System.exit(ArgsDaemon.USAGE_ERROR);
+		}
+		int exitCode = run(Paths.get(args[0]), Arrays.copyOfRange(args, 1, args.length), System.getenv(),
+			System.out, System.err);
+		System.exit(exitCode);
+	}
+
+}
@@ -0,0 +1,253 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Keeps a warm JVM that parses command lines for ArgsClient over a Unix domain socket, so short-lived tool
+// invocations do not each pay for JVM startup and class loading. The socket file is only accessible to its owner.
+public final class ArgsDaemon implements Closeable {
+
+	public static final int USAGE_ERROR = 2;
+	public static final int INTERNAL_ERROR = 70;
+
+	// How long the acceptor waits before trying again after accept() failed, for example for lack of descriptors.
+	private static final long ACCEPT_RETRY_MILLIS = 100;
+
+	private final Path socketPath;
+	private final Schema schema;
+	private final DaemonHandler handler;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+	private ServerSocketChannel server;
+	private volatile Thread.UncaughtExceptionHandler exceptionHandler;
+
+	public ArgsDaemon(Path socketPath, Schema schema, DaemonHandler handler) {
+		this(socketPath, schema, handler, Executors.newCachedThreadPool(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable task) {
+				Thread thread = new Thread(task, "args-daemon-session");
+				thread.setDaemon(true);
+				return thread;
+			}
+		}), true);
+	}
+
+	// Each connection is served by one task on executor, for example a virtual thread per task executor.
+	public ArgsDaemon(Path socketPath, Schema schema, DaemonHandler handler, ExecutorService executor) {
+		this(socketPath, schema, handler, executor, false);
+	}
+
+	private ArgsDaemon(Path socketPath, Schema schema, DaemonHandler handler, ExecutorService executor,
+		boolean ownsExecutor) {
+		this.socketPath = socketPath;
+		this.schema = schema;
+		this.handler = handler;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	public Path getSocketPath() {
+		return socketPath;
+	}
+
+	// Receives the errors that cannot be reported to a client, such as failures to accept a connection. Without a
+	// handler they go to the acceptor thread's default handler.
+	public void setUncaughtExceptionHandler(Thread.UncaughtExceptionHandler handler) {
+		exceptionHandler = handler;
+	}
+
+	public synchronized void start() throws IOException {
+		if (server != null) {
+			throw new IllegalStateException("The daemon is already started.");
+		}
+		final ServerSocketChannel channel = bind();
+		server = channel;
+		Thread acceptor = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				accept(channel);
+			}
+		}, "args-daemon-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	// A socket file nobody listens on is left over from a daemon that did not shut down cleanly.
+	private void removeStaleSocket() throws IOException {
+		BasicFileAttributes attributes;
+		try {
+			attributes = Files.readAttributes(socketPath, BasicFileAttributes.class);
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		if (!attributes.isOther()) {
+			throw new IOException(socketPath + " exists and is not a socket.");
+		}
+		try {
+			SocketChannel.open(UnixDomainSocketAddress.of(socketPath)).close();
+			throw new IOException("Another daemon is listening on " + socketPath + ".");
+		} catch (ConnectException e) {
+			Files.deleteIfExists(socketPath);
+		}
+	}
+
+	// The socket is bound in a new directory only its owner can enter and is linked into place once its own
+	// permissions are restricted, so no other user can connect in between.
+	private ServerSocketChannel bind() throws IOException {
+		Path directory;
+		try {
+			directory = Files.createTempDirectory(socketPath.toAbsolutePath().getParent(), ".args",
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+		} catch (UnsupportedOperationException e) {
+			// Not a POSIX file system; the directory permissions have to protect the socket.
+			removeStaleSocket();
+			return bind(socketPath);
+		}
+		Path privateSocket = directory.resolve(socketPath.getFileName());
+		try {
+			ServerSocketChannel channel = bind(privateSocket);
+			try {
+				Files.setPosixFilePermissions(privateSocket, PosixFilePermissions.fromString("rw-------"));
+				publish(privateSocket);
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+			return channel;
+		} finally {
+			Files.deleteIfExists(privateSocket);
+			Files.delete(directory);
+		}
+	}
+
+	// A hard link, unlike a rename, fails if the path exists, so a daemon started at the same time cannot be
+	// silently replaced. Losing that race means checking again whether the winner is alive.
+	private void publish(Path privateSocket) throws IOException {
+		while (true) {
+			removeStaleSocket();
+			try {
+				Files.createLink(socketPath, privateSocket);
+				return;
+			} catch (FileAlreadyExistsException e) {
+				// Another daemon published its socket after removeStaleSocket() looked.
+			}
+		}
+	}
+
+	private static ServerSocketChannel bind(Path path) throws IOException {
+		ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.bind(UnixDomainSocketAddress.of(path));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return channel;
+	}
+
+	private void accept(ServerSocketChannel server) {
+		while (true) {
+			final SocketChannel channel;
+			try {
+				channel = server.accept();
+			} catch (ClosedChannelException e) {
+				// close() stopped the daemon.
+				return;
+			} catch (IOException e) {
+				// Errors like running out of file descriptors pass, so keep accepting once they are reported.
+				report(e);
+				try {
+					Thread.sleep(ACCEPT_RETRY_MILLIS);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+				continue;
+			}
+			try {
+				executor.execute(new Runnable() {
+					@Override
+					public void run() {
+						serve(channel);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				closeQuietly(channel);
+			}
+		}
+	}
+
+	private void report(Throwable e) {
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = exceptionHandler;
+		(handler != null ? handler : thread.getUncaughtExceptionHandler()).uncaughtException(thread, e);
+	}
+
+	private void serve(SocketChannel channel) {
+		try {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			String[] args = DaemonProtocol.readArguments(in);
+			Map<String, String> environment = DaemonProtocol.readEnvironment(in);
+			PrintStream stdout = outputStream(out, DaemonProtocol.STDOUT);
+			PrintStream stderr = outputStream(out, DaemonProtocol.STDERR);
+			int exitCode = run(args, environment, stdout, stderr);
+			stdout.flush();
+			stderr.flush();
+			DaemonProtocol.writeExit(out, exitCode);
+		} catch (IOException e) {
+			// The client went away or sent a malformed request; there is nobody left to tell.
+		} finally {
+			closeQuietly(channel);
+		}
+	}
+
+	private static PrintStream outputStream(DataOutputStream out, byte type) {
+		return new PrintStream(new BufferedOutputStream(new DaemonProtocol.FrameOutputStream(out, type)), false,
+			StandardCharsets.UTF_8);
+	}
+
+	private int run(String[] args, Map<String, String> environment, PrintStream out, PrintStream err) {
+		try {
+			return handler.run(schema.parse(args), environment, out, err);
+		} catch (ArgsException e) {
+			err.println(e.getMessage());
+			return USAGE_ERROR;
+		} catch (Throwable e) {
+			// Errors too, so that the client always gets an exit code instead of a connection closed without one.
+			e.printStackTrace(err);
+			return INTERNAL_ERROR;
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			// Nothing to do.
+		}
+	}
+
+	// Stops accepting connections and removes the socket file. Sessions in progress finish on their own.
+	@Override
+	public synchronized void close() throws IOException {
+		if (server == null) {
+			return;
+		}
+		try {
+			server.close();
+			Files.deleteIfExists(socketPath);
+		} finally {
+			server = null;
+			if (ownsExecutor) {
+				executor.shutdown();
+			}
+		}
+	}
+
+}
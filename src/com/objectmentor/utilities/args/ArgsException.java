@@ -5,11 +5,22 @@ public class ArgsException extends Exception {
 	public static enum ErrorCode {
 		INVALID_ARGUMENT_FORMAT, UNEXPECTED_ARGUMENT, WRONG_ARGUMENT_TYPE, UNKNOWN_ARGUMENT_NAME,
 		INVALID_ARGUMENT_NAME, MISSING_STRING, MISSING_INTEGER, INVALID_INTEGER, MISSING_DOUBLE,
-		INVALID_DOUBLE
+		INVALID_DOUBLE, INVALID_ARGUMENT_FILE, RECURSIVE_ARGUMENT_FILE, AMBIGUOUS_ARGUMENT, UNEXPECTED_VALUE,
+		INVALID_BOOLEAN, MISSING_COMMAND, UNKNOWN_COMMAND, MISSING_LONG, INVALID_LONG, MISSING_SIZE, INVALID_SIZE,
+		MISSING_DURATION, INVALID_DURATION, MALFORMED_COMMAND_LINE
+	}
+
+	private static final MessageTemplate[] MESSAGES = new MessageTemplate[ErrorCode.values().length];
+
+	static {
+		for (ErrorCode errorCode : ErrorCode.values()) {
+			MESSAGES[errorCode.ordinal()] = new MessageTemplate(messagePattern(errorCode));
+		}
 	}
 
 	private ErrorCode errorCode;
 	private char errorArgumentId = '\0';
+	private String errorArgumentName = null;
 	private String errorParameter = null;
 
 	public ArgsException(ErrorCode errorCode) {
@@ -32,6 +43,22 @@ public class ArgsException extends Exception {
 		this.errorArgumentId = errorArgumentId;
 	}
 
+	public ArgsException(ErrorCode errorCode, char errorArgumentId, String errorParameter,
+		boolean writableStackTrace) {
+		super(null, null, false, writableStackTrace);
+		this.errorCode = errorCode;
+		this.errorParameter = errorParameter;
+		this.errorArgumentId = errorArgumentId;
+	}
+
+	// A stackless exception that keeps the I/O or other failure behind it.
+	ArgsException(ErrorCode errorCode, char errorArgumentId, String errorParameter, Throwable cause) {
+		super(null, cause, false, false);
+		this.errorCode = errorCode;
+		this.errorParameter = errorParameter;
+		this.errorArgumentId = errorArgumentId;
+	}
+
 	public char getErrorArgumentId() {
 		return errorArgumentId;
 	}
@@ -40,6 +67,14 @@ public class ArgsException extends Exception {
 		this.errorArgumentId = errorArgumentId;
 	}
 
+	public String getErrorArgumentName() {
+		return errorArgumentName;
+	}
+
+	public void setErrorArgumentName(String errorArgumentName) {
+		this.errorArgumentName = errorArgumentName;
+	}
+
 	public String getErrorParameter() {
 		return errorParameter;
 	}
@@ -56,31 +91,76 @@ public class ArgsException extends Exception {
 		this.errorCode = errorCode;
 	}
 
+	// Copies a stackless exception from the parser into one with a stack trace for the caller.
+	ArgsException withStackTrace() {
+		ArgsException e = new ArgsException(errorCode, errorArgumentId, errorParameter);
+		e.setErrorArgumentName(errorArgumentName);
+		if (getCause() != null) {
+			e.initCause(getCause());
+		}
+		return e;
+	}
+
 	@Override
 	public String getMessage() {
+		return getMessage(errorCode, errorArgumentId, errorArgumentName, errorParameter);
+	}
+
+	static String getMessage(ErrorCode errorCode, char errorArgumentId, String errorArgumentName,
+		String errorParameter) {
+		return MESSAGES[errorCode.ordinal()].render(errorArgumentId, errorArgumentName, errorParameter);
+	}
+
+	private static String messagePattern(ErrorCode errorCode) {
 		switch (errorCode) {
 			case UNEXPECTED_ARGUMENT:
-				return String.format("Argument -%c unexpected.", errorArgumentId);
+				return "Argument {flag} unexpected.";
 			case MISSING_STRING:
-				return String.format("Could not find string parameter for -%c.", errorArgumentId);
+				return "Could not find string parameter for {flag}.";
 			case INVALID_INTEGER:
-				return String.format("Argument -%c expects an integer but was '%s'.", errorArgumentId,
-					errorParameter);
+				return "Argument {flag} expects an integer but was '{parameter}'.";
 			case MISSING_INTEGER:
-				return String.format("Could not find integer parameter for -%c.", errorArgumentId);
+				return "Could not find integer parameter for {flag}.";
 			case INVALID_DOUBLE:
-				return String.format("Argument -%c expects a double but was '%s'.", errorArgumentId,
-					errorParameter);
+				return "Argument {flag} expects a double but was '{parameter}'.";
 			case MISSING_DOUBLE:
-				return String.format("Could not find double parameter for -%c.", errorArgumentId);
+				return "Could not find double parameter for {flag}.";
 			case INVALID_ARGUMENT_NAME:
-				return String.format("'%c' is not a valid argument name.", errorArgumentId);
+				return "'{argument}' is not a valid argument name.";
 			case INVALID_ARGUMENT_FORMAT:
-				return String.format("'%s' is not a valid argument format.", errorParameter);
+				return "'{parameter}' is not a valid argument format.";
 			case UNKNOWN_ARGUMENT_NAME:
-				return String.format("Argument '%c' did not appear in schema.", errorArgumentId);
+				return "Argument '{argument}' did not appear in schema.";
 			case WRONG_ARGUMENT_TYPE:
-				return String.format("Argument '%c' is not of the requested type.", errorArgumentId);
+				return "Argument '{argument}' is not of the requested type.";
+			case INVALID_ARGUMENT_FILE:
+				return "Argument file '{parameter}' is missing, unreadable or malformed.";
+			case RECURSIVE_ARGUMENT_FILE:
+				return "Argument file '{parameter}' includes itself.";
+			case AMBIGUOUS_ARGUMENT:
+				return "Argument {flag} is ambiguous.";
+			case UNEXPECTED_VALUE:
+				return "Argument {flag} does not take a value but was given '{parameter}'.";
+			case INVALID_BOOLEAN:
+				return "Argument {flag} expects true or false but was '{parameter}'.";
+			case MISSING_COMMAND:
+				return "Expected a command.";
+			case UNKNOWN_COMMAND:
+				return "Command '{parameter}' is unknown.";
+			case MISSING_LONG:
+				return "Could not find long parameter for {flag}.";
+			case INVALID_LONG:
+				return "Argument {flag} expects a long but was '{parameter}'.";
+			case MISSING_SIZE:
+				return "Could not find size parameter for {flag}.";
+			case INVALID_SIZE:
+				return "Argument {flag} expects a size like 512k or 64g but was '{parameter}'.";
+			case MISSING_DURATION:
+				return "Could not find duration parameter for {flag}.";
+			case INVALID_DURATION:
+				return "Argument {flag} expects a duration like 250ms or 1h30m but was '{parameter}'.";
+			case MALFORMED_COMMAND_LINE:
+				return "Command line is malformed: {parameter}.";
 			default:
 				return "";
 		}
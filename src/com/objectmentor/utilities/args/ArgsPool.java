@@ -0,0 +1,39 @@
+package com.objectmentor.utilities.args;
+
+// Keeps one reusable Args per thread. The Args returned by parse belongs to the calling thread and is overwritten
+// by that thread's next parse; take a snapshot() to keep values longer.
+public final class ArgsPool {
+
+	private final Schema schema;
+	private final Fallbacks fallbacks;
+	private final ThreadLocal<Args> args;
+
+	public ArgsPool(Schema schema) {
+		this(schema, null);
+	}
+
+	public ArgsPool(Schema schema, Fallbacks fallbacks) {
+		if (fallbacks != null && fallbacks.getSchema() != schema) {
+			throw new IllegalArgumentException("Fallbacks belong to a different schema.");
+		}
+		this.schema = schema;
+		this.fallbacks = fallbacks;
+		this.args = new ThreadLocal<Args>() {
+			@Override
+			protected Args initialValue() {
+				return new Args(ArgsPool.this.schema, ArgsPool.this.fallbacks);
+			}
+		};
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public Args parse(String[] arguments) throws ArgsException {
+		Args reusable = args.get();
+		reusable.reparse(arguments);
+		return reusable;
+	}
+
+}
@@ -0,0 +1,338 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.nio.*;
+import java.time.Duration;
+import java.util.*;
+
+public final class ArgsSnapshot {
+
+	private final Schema schema;
+	private final boolean[] argsFound;
+	private final long[] primitiveValues;
+	private final Object[] referenceValues;
+	private final int extraArgumentsIndex;
+	private final List<String> extraArguments;
+
+	ArgsSnapshot(Schema schema, ArgumentMarshaler[] marshalers, BitSet argsFound, int extraArgumentsIndex,
+		List<String> extraArguments) {
+		this.schema = schema;
+		this.argsFound = new boolean[marshalers.length];
+		this.primitiveValues = new long[marshalers.length];
+		this.referenceValues = new Object[marshalers.length];
+		this.extraArgumentsIndex = extraArgumentsIndex;
+		this.extraArguments = Collections.unmodifiableList(new ArrayList<String>(extraArguments));
+
+		for (int slot = 0; slot < marshalers.length; slot++) {
+			this.argsFound[slot] = argsFound.get(slot);
+			ArgumentMarshaler marshaler = marshalers[slot];
+			switch (schema.typeOf(slot)) {
+				case BOOLEAN:
+					primitiveValues[slot] = BooleanArgumentMarshaler.getValue(marshaler) ? 1 : 0;
+					break;
+				case INTEGER:
+					primitiveValues[slot] = IntegerArgumentMarshaler.getValue(marshaler);
+					break;
+				case DOUBLE:
+					primitiveValues[slot] = Double.doubleToRawLongBits(DoubleArgumentMarshaler.getValue(marshaler));
+					break;
+				case LONG:
+					primitiveValues[slot] = LongArgumentMarshaler.getValue(marshaler);
+					break;
+				case SIZE:
+					primitiveValues[slot] = SizeArgumentMarshaler.getValue(marshaler);
+					break;
+				case DURATION:
+					primitiveValues[slot] = DurationArgumentMarshaler.getValue(marshaler).toNanos();
+					break;
+				case STRING:
+					referenceValues[slot] = StringArgumentMarshaler.getValue(marshaler);
+					break;
+				case INTEGER_ARRAY:
+					referenceValues[slot] = IntegerArrayArgumentMarshaler.getValue(marshaler);
+					break;
+				case DOUBLE_ARRAY:
+					referenceValues[slot] = DoubleArrayArgumentMarshaler.getValue(marshaler);
+					break;
+				case STRING_ARRAY:
+					referenceValues[slot] = Collections.unmodifiableList(
+						Arrays.asList(StringArrayArgumentMarshaler.getValue(marshaler)));
+					break;
+			}
+		}
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public boolean found(char arg) throws ArgsException {
+		return argsFound[schema.validateSlot(arg)];
+	}
+
+	public boolean found(String name) throws ArgsException {
+		return argsFound[schema.validateSlot(name)];
+	}
+
+	boolean foundAt(int slot) {
+		return argsFound[slot];
+	}
+
+	long primitiveAt(int slot) {
+		return primitiveValues[slot];
+	}
+
+	Object referenceAt(int slot) {
+		return referenceValues[slot];
+	}
+
+	public int extraArgumentsIndex() {
+		return extraArgumentsIndex;
+	}
+
+	public List<String> extraArguments() {
+		return extraArguments;
+	}
+
+	public boolean getBoolean(char arg) throws ArgsException {
+		return getBoolean(schema.validateSlot(arg));
+	}
+
+	public boolean getBoolean(String name) throws ArgsException {
+		return getBoolean(schema.validateSlot(name));
+	}
+
+	private boolean getBoolean(int slot) throws ArgsException {
+		return primitiveValues[validateType(slot, ArgumentType.BOOLEAN)] != 0;
+	}
+
+	public String getString(char arg) throws ArgsException {
+		return getString(schema.validateSlot(arg));
+	}
+
+	public String getString(String name) throws ArgsException {
+		return getString(schema.validateSlot(name));
+	}
+
+	private String getString(int slot) throws ArgsException {
+		return (String) referenceValues[validateType(slot, ArgumentType.STRING)];
+	}
+
+	public String getStringOrDefault(char arg, String defaultValue) throws ArgsException {
+		return getStringOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public String getStringOrDefault(String name, String defaultValue) throws ArgsException {
+		return getStringOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private String getStringOrDefault(int slot, String defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.STRING);
+		return argsFound[slot] ? (String) referenceValues[slot] : defaultValue;
+	}
+
+	public int getInt(char arg) throws ArgsException {
+		return getInt(schema.validateSlot(arg));
+	}
+
+	public int getInt(String name) throws ArgsException {
+		return getInt(schema.validateSlot(name));
+	}
+
+	private int getInt(int slot) throws ArgsException {
+		return (int) primitiveValues[validateType(slot, ArgumentType.INTEGER)];
+	}
+
+	public int getIntOrDefault(char arg, int defaultValue) throws ArgsException {
+		return getIntOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public int getIntOrDefault(String name, int defaultValue) throws ArgsException {
+		return getIntOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private int getIntOrDefault(int slot, int defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.INTEGER);
+		return argsFound[slot] ? (int) primitiveValues[slot] : defaultValue;
+	}
+
+	public double getDouble(char arg) throws ArgsException {
+		return getDouble(schema.validateSlot(arg));
+	}
+
+	public double getDouble(String name) throws ArgsException {
+		return getDouble(schema.validateSlot(name));
+	}
+
+	private double getDouble(int slot) throws ArgsException {
+		return Double.longBitsToDouble(primitiveValues[validateType(slot, ArgumentType.DOUBLE)]);
+	}
+
+	public double getDoubleOrDefault(char arg, double defaultValue) throws ArgsException {
+		return getDoubleOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public double getDoubleOrDefault(String name, double defaultValue) throws ArgsException {
+		return getDoubleOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private double getDoubleOrDefault(int slot, double defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.DOUBLE);
+		return argsFound[slot] ? Double.longBitsToDouble(primitiveValues[slot]) : defaultValue;
+	}
+
+	public long getLong(char arg) throws ArgsException {
+		return getLong(schema.validateSlot(arg));
+	}
+
+	public long getLong(String name) throws ArgsException {
+		return getLong(schema.validateSlot(name));
+	}
+
+	private long getLong(int slot) throws ArgsException {
+		return primitiveValues[validateType(slot, ArgumentType.LONG)];
+	}
+
+	public long getLongOrDefault(char arg, long defaultValue) throws ArgsException {
+		return getLongOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public long getLongOrDefault(String name, long defaultValue) throws ArgsException {
+		return getLongOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private long getLongOrDefault(int slot, long defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.LONG);
+		return argsFound[slot] ? primitiveValues[slot] : defaultValue;
+	}
+
+	public long getSize(char arg) throws ArgsException {
+		return getSize(schema.validateSlot(arg));
+	}
+
+	public long getSize(String name) throws ArgsException {
+		return getSize(schema.validateSlot(name));
+	}
+
+	private long getSize(int slot) throws ArgsException {
+		return primitiveValues[validateType(slot, ArgumentType.SIZE)];
+	}
+
+	public long getSizeOrDefault(char arg, long defaultValue) throws ArgsException {
+		return getSizeOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public long getSizeOrDefault(String name, long defaultValue) throws ArgsException {
+		return getSizeOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private long getSizeOrDefault(int slot, long defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.SIZE);
+		return argsFound[slot] ? primitiveValues[slot] : defaultValue;
+	}
+
+	public Duration getDuration(char arg) throws ArgsException {
+		return getDuration(schema.validateSlot(arg));
+	}
+
+	public Duration getDuration(String name) throws ArgsException {
+		return getDuration(schema.validateSlot(name));
+	}
+
+	private Duration getDuration(int slot) throws ArgsException {
+		return Duration.ofNanos(primitiveValues[validateType(slot, ArgumentType.DURATION)]);
+	}
+
+	public Duration getDurationOrDefault(char arg, Duration defaultValue) throws ArgsException {
+		return getDurationOrDefault(schema.validateSlot(arg), defaultValue);
+	}
+
+	public Duration getDurationOrDefault(String name, Duration defaultValue) throws ArgsException {
+		return getDurationOrDefault(schema.validateSlot(name), defaultValue);
+	}
+
+	private Duration getDurationOrDefault(int slot, Duration defaultValue) throws ArgsException {
+		validateType(slot, ArgumentType.DURATION);
+		return argsFound[slot] ? Duration.ofNanos(primitiveValues[slot]) : defaultValue;
+	}
+
+	public String[] getStringArray(char arg) throws ArgsException {
+		return getStringList(arg).toArray(new String[0]);
+	}
+
+	public String[] getStringArray(String name) throws ArgsException {
+		return getStringList(name).toArray(new String[0]);
+	}
+
+	public List<String> getStringList(char arg) throws ArgsException {
+		return getStringList(schema.validateSlot(arg));
+	}
+
+	public List<String> getStringList(String name) throws ArgsException {
+		return getStringList(schema.validateSlot(name));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<String> getStringList(int slot) throws ArgsException {
+		return (List<String>) referenceValues[validateType(slot, ArgumentType.STRING_ARRAY)];
+	}
+
+	public int[] getIntArray(char arg) throws ArgsException {
+		return getIntArray(schema.validateSlot(arg));
+	}
+
+	public int[] getIntArray(String name) throws ArgsException {
+		return getIntArray(schema.validateSlot(name));
+	}
+
+	private int[] getIntArray(int slot) throws ArgsException {
+		return ((int[]) referenceValues[validateType(slot, ArgumentType.INTEGER_ARRAY)]).clone();
+	}
+
+	public IntBuffer getIntBuffer(char arg) throws ArgsException {
+		return getIntBuffer(schema.validateSlot(arg));
+	}
+
+	public IntBuffer getIntBuffer(String name) throws ArgsException {
+		return getIntBuffer(schema.validateSlot(name));
+	}
+
+	private IntBuffer getIntBuffer(int slot) throws ArgsException {
+		int[] values = (int[]) referenceValues[validateType(slot, ArgumentType.INTEGER_ARRAY)];
+		return IntBuffer.wrap(values).asReadOnlyBuffer();
+	}
+
+	public double[] getDoubleArray(char arg) throws ArgsException {
+		return getDoubleArray(schema.validateSlot(arg));
+	}
+
+	public double[] getDoubleArray(String name) throws ArgsException {
+		return getDoubleArray(schema.validateSlot(name));
+	}
+
+	private double[] getDoubleArray(int slot) throws ArgsException {
+		return ((double[]) referenceValues[validateType(slot, ArgumentType.DOUBLE_ARRAY)]).clone();
+	}
+
+	public DoubleBuffer getDoubleBuffer(char arg) throws ArgsException {
+		return getDoubleBuffer(schema.validateSlot(arg));
+	}
+
+	public DoubleBuffer getDoubleBuffer(String name) throws ArgsException {
+		return getDoubleBuffer(schema.validateSlot(name));
+	}
+
+	private DoubleBuffer getDoubleBuffer(int slot) throws ArgsException {
+		double[] values = (double[]) referenceValues[validateType(slot, ArgumentType.DOUBLE_ARRAY)];
+		return DoubleBuffer.wrap(values).asReadOnlyBuffer();
+	}
+
+	private int validateType(int slot, ArgumentType type) throws ArgsException {
+		if (schema.typeOf(slot) != type) {
+			throw schema.argumentException(WRONG_ARGUMENT_TYPE, slot);
+		}
+		return slot;
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.objectmentor.utilities.args;
+
+import java.lang.annotation.*;
+
+// Marks a field to be filled by a Binder. The argument type is derived from the field type:
+// boolean, String, int, double, String[] or List<String>.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Argument {
+
+	char value();
+
+}
@@ -0,0 +1,138 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+final class ArgumentFileIterator implements Iterator<String>, Closeable {
+
+	static final class Failure extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ArgsException cause;
+
+		Failure(ArgsException cause) {
+			super(cause);
+			this.cause = cause;
+		}
+
+		ArgsException getArgsException() {
+			return cause;
+		}
+
+	}
+
+	private final String[] args;
+	private final Deque<ArgumentFileTokenizer> files = new ArrayDeque<ArgumentFileTokenizer>();
+	private final Set<Path> openPaths = new HashSet<Path>();
+	private int currentArgument;
+	private String lookahead;
+	private int consumed;
+
+	ArgumentFileIterator(String[] args) {
+		this.args = args;
+	}
+
+	int consumed() {
+		return consumed;
+	}
+
+	String peek() {
+		return hasNext() ? lookahead : null;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (lookahead == null) {
+			try {
+				lookahead = nextExpandedToken();
+			} catch (ArgsException e) {
+				throw new Failure(e);
+			}
+		}
+		return lookahead != null;
+	}
+
+	@Override
+	public String next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		String next = lookahead;
+		lookahead = null;
+		consumed++;
+		return next;
+	}
+
+	private String nextExpandedToken() throws ArgsException {
+		while (true) {
+			String token = nextToken();
+			if (token == null || token.length() < 2 || token.charAt(0) != '@') {
+				return token;
+			}
+			open(token.substring(1));
+		}
+	}
+
+	private String nextToken() throws ArgsException {
+		while (!files.isEmpty()) {
+			ArgumentFileTokenizer file = files.peek();
+			try {
+				String token = file.nextToken();
+				if (token != null) {
+					return token;
+				}
+			} catch (IOException e) {
+				throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', file.getPath().toString(), e);
+			}
+			closeFile(files.pop());
+		}
+		return currentArgument < args.length ? args[currentArgument++] : null;
+	}
+
+	private void open(String name) throws ArgsException {
+		Path path = files.isEmpty() ? Paths.get(name) : files.peek().getPath().resolveSibling(name);
+		Path realPath;
+		try {
+			realPath = path.toRealPath();
+		} catch (IOException e) {
+			throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', name, e);
+		}
+		if (!openPaths.add(realPath)) {
+			throw new ArgsException(RECURSIVE_ARGUMENT_FILE, '\0', name, false);
+		}
+		try {
+			files.push(new ArgumentFileTokenizer(realPath));
+		} catch (IOException e) {
+			openPaths.remove(realPath);
+			throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', name, e);
+		}
+	}
+
+	private void closeFile(ArgumentFileTokenizer file) {
+		openPaths.remove(file.getPath());
+		try {
+			file.close();
+		} catch (IOException e) {
+		}
+	}
+
+	List<String> remaining() {
+		List<String> remaining = new ArrayList<String>();
+		while (hasNext()) {
+			remaining.add(next());
+		}
+		return remaining;
+	}
+
+	@Override
+	public void close() {
+		while (!files.isEmpty()) {
+			closeFile(files.pop());
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+final class ArgumentFileTokenizer implements Closeable {
+
+	private static final long WINDOW_SIZE = 1L << 30;
+
+	private final Path path;
+	private final FileChannel channel;
+	private final long size;
+	private ByteBuffer window;
+	private long windowEnd;
+	private byte[] token = new byte[64];
+	private int tokenLength;
+
+	ArgumentFileTokenizer(Path path) throws IOException {
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+		this.windowEnd = 0;
+	}
+
+	// Tokenizes contents already read from path, for files that may change while they are being read.
+	ArgumentFileTokenizer(Path path, ByteBuffer contents) {
+		this.path = path;
+		this.channel = null;
+		this.size = contents.remaining();
+		this.window = contents;
+		this.windowEnd = size;
+	}
+
+	Path getPath() {
+		return path;
+	}
+
+	String nextToken() throws ArgsException, IOException {
+		int c = skipWhitespaceAndComments();
+		if (c < 0) {
+			return null;
+		}
+		tokenLength = 0;
+		while (c >= 0 && !isWhitespace(c)) {
+			if (c == '"' || c == '\'') {
+				readQuoted(c);
+			} else {
+				append(c);
+			}
+			c = read();
+		}
+		return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+	}
+
+	private int skipWhitespaceAndComments() throws IOException {
+		int c = read();
+		while (c >= 0 && (isWhitespace(c) || c == '#')) {
+			if (c == '#') {
+				while (c >= 0 && c != '\n') {
+					c = read();
+				}
+			}
+			c = read();
+		}
+		return c;
+	}
+
+	private void readQuoted(int quote) throws ArgsException, IOException {
+		for (int c = read(); c != quote; c = read()) {
+			if (c < 0) {
+				throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', path.toString(), false);
+			}
+			if (c == '\\' && quote == '"') {
+				int escaped = read();
+				if (escaped != '"' && escaped != '\\') {
+					append(c);
+				}
+				c = escaped;
+				if (c < 0) {
+					throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', path.toString(), false);
+				}
+			}
+			append(c);
+		}
+	}
+
+	private static boolean isWhitespace(int c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+	private void append(int c) {
+		if (tokenLength == token.length) {
+			byte[] grown = new byte[token.length * 2];
+			System.arraycopy(token, 0, grown, 0, tokenLength);
+			token = grown;
+		}
+		token[tokenLength++] = (byte) c;
+	}
+
+	private int read() throws IOException {
+		if (window == null || !window.hasRemaining()) {
+			if (windowEnd >= size) {
+				return -1;
+			}
+			long windowSize = Math.min(WINDOW_SIZE, size - windowEnd);
+			window = channel.map(FileChannel.MapMode.READ_ONLY, windowEnd, windowSize);
+			windowEnd += windowSize;
+		}
+		return window.get() & 0xff;
+	}
+
+	@Override
+	public void close() throws IOException {
+		window = null;
+		if (channel != null) {
+			channel.close();
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+// Resolves an argument id against a schema once, so that reads skip the id lookup and type check.
+public abstract class ArgumentHandle {
+
+	final Schema schema;
+	final int slot;
+
+	ArgumentHandle(Schema schema, int slot, ArgumentType type) throws ArgsException {
+		if (schema.typeOf(slot) != type) {
+			throw schema.argumentException(WRONG_ARGUMENT_TYPE, slot);
+		}
+		this.schema = schema;
+		this.slot = slot;
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public char getId() {
+		return schema.idOf(slot);
+	}
+
+	public String getName() {
+		return schema.nameOf(slot);
+	}
+
+	public boolean found(Args args) throws ArgsException {
+		return checkSchema(args).foundAt(slot);
+	}
+
+	public boolean found(ArgsSnapshot snapshot) {
+		return checkSchema(snapshot).foundAt(slot);
+	}
+
+	ArgumentMarshaler marshaler(Args args) throws ArgsException {
+		return checkSchema(args).marshalerAt(slot);
+	}
+
+	Args checkSchema(Args args) {
+		if (args.getSchema() != schema) {
+			throw new IllegalArgumentException("Handle for " + describe() + " belongs to a different schema.");
+		}
+		return args;
+	}
+
+	private String describe() {
+		return getName() != null ? "--" + getName() : "-" + getId();
+	}
+
+	ArgsSnapshot checkSchema(ArgsSnapshot snapshot) {
+		if (snapshot.getSchema() != schema) {
+			throw new IllegalArgumentException("Handle for " + describe() + " belongs to a different schema.");
+		}
+		return snapshot;
+	}
+
+}
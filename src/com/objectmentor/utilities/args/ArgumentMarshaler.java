@@ -1,7 +1,13 @@
 package com.objectmentor.utilities.args;
 
-import java.util.Iterator;
+import java.util.*;
 
 public interface ArgumentMarshaler {
 	void set(Iterator<String> currentArgument) throws ArgsException;
+
+	default int set(String[] args, int currentArgument) throws ArgsException {
+		ListIterator<String> iterator = Arrays.asList(args).listIterator(currentArgument);
+		set(iterator);
+		return iterator.nextIndex();
+	}
 }
\ No newline at end of file
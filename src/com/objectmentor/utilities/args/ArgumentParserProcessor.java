@@ -0,0 +1,254 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+// Generates a parser class for every type annotated with @GenerateParser. The generated code switches on the
+// argument character and assigns the @Argument fields directly, so it needs neither a Schema nor reflection.
+@SupportedAnnotationTypes("com.objectmentor.utilities.args.GenerateParser")
+public class ArgumentParserProcessor extends AbstractProcessor {
+
+	private static final String BOOLEAN = "boolean";
+	private static final String STRING = "java.lang.String";
+	private static final String INTEGER = "int";
+	private static final String DOUBLE = "double";
+	private static final String STRING_ARRAY = "java.lang.String[]";
+	private static final String STRING_LIST = "java.util.List<java.lang.String>";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(GenerateParser.class)) {
+			if (element.getKind() != ElementKind.CLASS) {
+				error(element, "@GenerateParser only applies to classes.");
+			} else {
+				process((TypeElement) element);
+			}
+		}
+		return true;
+	}
+
+	private void process(TypeElement type) {
+		List<VariableElement> fields = new ArrayList<VariableElement>();
+		Set<Character> ids = new HashSet<Character>();
+		boolean valid = true;
+		for (Element member : type.getEnclosedElements()) {
+			Argument argument = member.getAnnotation(Argument.class);
+			if (argument == null || member.getKind() != ElementKind.FIELD) {
+				continue;
+			}
+			VariableElement field = (VariableElement) member;
+			Set<Modifier> modifiers = field.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)
+				|| modifiers.contains(Modifier.FINAL)) {
+				error(field, "@Argument fields of generated parsers must not be private, static or final.");
+				valid = false;
+			} else if (!Character.isLetter(argument.value())) {
+				error(field, "'" + argument.value() + "' is not a valid argument name.");
+				valid = false;
+			} else if (!ids.add(argument.value())) {
+				error(field, "Argument -" + argument.value() + " is declared more than once.");
+				valid = false;
+			} else if (kindOf(field) == null) {
+				error(field, "Unsupported @Argument field type " + field.asType() + ".");
+				valid = false;
+			} else {
+				fields.add(field);
+			}
+		}
+		if (type.getModifiers().contains(Modifier.PRIVATE) || type.getNestingKind() == NestingKind.LOCAL
+			|| type.getNestingKind() == NestingKind.ANONYMOUS
+			|| (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC))) {
+			error(type, "@GenerateParser classes must be top level or static nested and not private.");
+			valid = false;
+		}
+		if (valid) {
+			write(type, fields);
+		}
+	}
+
+	private static String kindOf(VariableElement field) {
+		TypeMirror fieldType = field.asType();
+		String name = fieldType.toString();
+		if (fieldType.getKind() == TypeKind.BOOLEAN || fieldType.getKind() == TypeKind.INT
+			|| fieldType.getKind() == TypeKind.DOUBLE) {
+			return name;
+		} else if (name.equals(STRING) || name.equals(STRING_ARRAY) || name.equals(STRING_LIST)) {
+			return name;
+		} else {
+			return null;
+		}
+	}
+
+	private void write(TypeElement type, List<VariableElement> fields) {
+		String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+		String typeName = type.getQualifiedName().toString();
+		String parserName = parserName(type);
+		try {
+			Writer writer = processingEnv.getFiler()
+				.createSourceFile(packageName.isEmpty() ? parserName : packageName + "." + parserName, type)
+				.openWriter();
+			try {
+				writer.write(generate(packageName, typeName, parserName, fields));
+			} finally {
+				writer.close();
+			}
+		} catch (IOException e) {
+			error(type, "Could not write " + parserName + ": " + e.getMessage());
+		}
+	}
+
+	static String parserName(TypeElement type) {
+		String name = type.getSimpleName().toString();
+		for (Element outer = type.getEnclosingElement(); outer instanceof TypeElement;
+			outer = outer.getEnclosingElement()) {
+			name = outer.getSimpleName() + "_" + name;
+		}
+		return name + "Parser";
+	}
+
+	private static String generate(String packageName, String typeName, String parserName,
+		List<VariableElement> fields) {
+		Set<String> kinds = new HashSet<String>();
+		for (VariableElement field : fields) {
+			kinds.add(kindOf(field));
+		}
+
+		StringBuilder out = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			out.append("package ").append(packageName).append(";\n\n");
+		}
+		out.append("import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;\n\n");
+		out.append("import com.objectmentor.utilities.args.ArgsException;\n\n");
+		out.append("// Generated by ").append(ArgumentParserProcessor.class.getName()).append(" from ")
+			.append(typeName).append(". Do not edit.\n");
+		out.append("public final class ").append(parserName).append(" {\n\n");
+		out.append("\tprivate ").append(parserName).append("() {}\n\n");
+
+		out.append("\tpublic static ").append(typeName).append(" parse(String[] args) throws ArgsException {\n");
+		out.append("\t\t").append(typeName).append(" target = new ").append(typeName).append("();\n");
+		out.append("\t\tparse(args, target);\n");
+		out.append("\t\treturn target;\n");
+		out.append("\t}\n\n");
+
+		out.append("\t// Returns the index of the first argument that is not an option, like Args.extraArgumentsIndex().\n");
+		out.append("\tpublic static int parse(String[] args, ").append(typeName)
+			.append(" target) throws ArgsException {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			if (isRepeated(kindOf(fields.get(i)))) {
+				out.append("\t\tjava.util.List<String> values").append(i).append(" = null;\n");
+			}
+		}
+		out.append("\t\tint currentArgument = 0;\n");
+		out.append("\t\twhile (currentArgument < args.length && args[currentArgument].startsWith(\"-\")) {\n");
+		out.append("\t\t\tString arg = args[currentArgument++];\n");
+		out.append("\t\t\tif (arg.equals(\"--\")) {\n");
+		out.append("\t\t\t\tbreak;\n");
+		out.append("\t\t\t}\n");
+		out.append("\t\t\tfor (int i = 1; i < arg.length(); i++) {\n");
+		out.append("\t\t\t\tchar id = arg.charAt(i);\n");
+		out.append("\t\t\t\tswitch (id) {\n");
+		for (int i = 0; i < fields.size(); i++) {
+			VariableElement field = fields.get(i);
+			String kind = kindOf(field);
+			String name = field.getSimpleName().toString();
+			String values = "values" + i;
+			out.append("\t\t\t\t\tcase ").append(charLiteral(field.getAnnotation(Argument.class).value()))
+				.append(":\n");
+			if (kind.equals(BOOLEAN)) {
+				out.append("\t\t\t\t\t\ttarget.").append(name).append(" = true;\n");
+			} else if (kind.equals(STRING)) {
+				out.append("\t\t\t\t\t\ttarget.").append(name).append(" = stringAt(args, currentArgument++, id);\n");
+			} else if (kind.equals(INTEGER)) {
+				out.append("\t\t\t\t\t\ttarget.").append(name).append(" = intAt(args, currentArgument++, id);\n");
+			} else if (kind.equals(DOUBLE)) {
+				out.append("\t\t\t\t\t\ttarget.").append(name)
+					.append(" = doubleAt(args, currentArgument++, id);\n");
+			} else {
+				out.append("\t\t\t\t\t\tif (").append(values).append(" == null) {\n");
+				out.append("\t\t\t\t\t\t\t").append(values).append(" = new java.util.ArrayList<String>();\n");
+				out.append("\t\t\t\t\t\t}\n");
+				out.append("\t\t\t\t\t\t").append(values).append(".add(stringAt(args, currentArgument++, id));\n");
+			}
+			out.append("\t\t\t\t\t\tbreak;\n");
+		}
+		out.append("\t\t\t\t\tdefault:\n");
+		out.append("\t\t\t\t\t\tthrow new ArgsException(UNEXPECTED_ARGUMENT, id, null);\n");
+		out.append("\t\t\t\t}\n");
+		out.append("\t\t\t}\n");
+		out.append("\t\t}\n");
+		for (int i = 0; i < fields.size(); i++) {
+			String kind = kindOf(fields.get(i));
+			String values = "values" + i;
+			if (isRepeated(kind)) {
+				out.append("\t\tif (").append(values).append(" != null) {\n");
+				String value = kind.equals(STRING_ARRAY) ? values + ".toArray(new String[0])"
+					: "java.util.Collections.unmodifiableList(" + values + ")";
+				out.append("\t\t\ttarget.").append(fields.get(i).getSimpleName()).append(" = ").append(value)
+					.append(";\n");
+				out.append("\t\t}\n");
+			}
+		}
+		out.append("\t\treturn currentArgument;\n");
+		out.append("\t}\n");
+
+		if (kinds.contains(STRING) || kinds.contains(STRING_ARRAY) || kinds.contains(STRING_LIST)) {
+			out.append("\n\tprivate static String stringAt(String[] args, int index, char id) throws ArgsException {\n");
+			out.append("\t\tif (index >= args.length) {\n");
+			out.append("\t\t\tthrow new ArgsException(MISSING_STRING, id, null);\n");
+			out.append("\t\t}\n");
+			out.append("\t\treturn args[index];\n");
+			out.append("\t}\n");
+		}
+		if (kinds.contains(INTEGER)) {
+			out.append("\n\tprivate static int intAt(String[] args, int index, char id) throws ArgsException {\n");
+			out.append("\t\tif (index >= args.length) {\n");
+			out.append("\t\t\tthrow new ArgsException(MISSING_INTEGER, id, null);\n");
+			out.append("\t\t}\n");
+			out.append("\t\ttry {\n");
+			out.append("\t\t\treturn Integer.parseInt(args[index]);\n");
+			out.append("\t\t} catch (NumberFormatException e) {\n");
+			out.append("\t\t\tthrow new ArgsException(INVALID_INTEGER, id, args[index]);\n");
+			out.append("\t\t}\n");
+			out.append("\t}\n");
+		}
+		if (kinds.contains(DOUBLE)) {
+			out.append("\n\tprivate static double doubleAt(String[] args, int index, char id) throws ArgsException {\n");
+			out.append("\t\tif (index >= args.length) {\n");
+			out.append("\t\t\tthrow new ArgsException(MISSING_DOUBLE, id, null);\n");
+			out.append("\t\t}\n");
+			out.append("\t\ttry {\n");
+			out.append("\t\t\treturn Double.parseDouble(args[index]);\n");
+			out.append("\t\t} catch (NumberFormatException e) {\n");
+			out.append("\t\t\tthrow new ArgsException(INVALID_DOUBLE, id, args[index]);\n");
+			out.append("\t\t}\n");
+			out.append("\t}\n");
+		}
+		out.append("\n}\n");
+		return out.toString();
+	}
+
+	private static boolean isRepeated(String kind) {
+		return kind.equals(STRING_ARRAY) || kind.equals(STRING_LIST);
+	}
+
+	private static String charLiteral(char id) {
+		return id < 128 ? "'" + id + "'" : String.format("'\\u%04x'", (int) id);
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.objectmentor.utilities.args;
+
+enum ArgumentType {
+
+	BOOLEAN {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new BooleanArgumentMarshaler();
+		}
+	},
+	STRING {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new StringArgumentMarshaler();
+		}
+	},
+	INTEGER(true) {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new IntegerArgumentMarshaler(conversion);
+		}
+	},
+	DOUBLE(true) {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new DoubleArgumentMarshaler(conversion);
+		}
+	},
+	STRING_ARRAY {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new StringArrayArgumentMarshaler();
+		}
+	},
+	LONG(true) {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new LongArgumentMarshaler(conversion);
+		}
+	},
+	SIZE(true) {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new SizeArgumentMarshaler(conversion);
+		}
+	},
+	DURATION(true) {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new DurationArgumentMarshaler(conversion);
+		}
+	},
+	INTEGER_ARRAY {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new IntegerArrayArgumentMarshaler();
+		}
+	},
+	DOUBLE_ARRAY {
+		@Override
+		ArgumentMarshaler newMarshaler(Conversion conversion) {
+			return new DoubleArrayArgumentMarshaler();
+		}
+	};
+
+	private final boolean defersConversion;
+
+	private ArgumentType() {
+		this(false);
+	}
+
+	// Whether the marshaler implements LazyArgumentMarshaler.
+	private ArgumentType(boolean defersConversion) {
+		this.defersConversion = defersConversion;
+	}
+
+	boolean defersConversion() {
+		return defersConversion;
+	}
+
+	abstract ArgumentMarshaler newMarshaler(Conversion conversion);
+
+}
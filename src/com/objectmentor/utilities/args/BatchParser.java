@@ -0,0 +1,126 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+public final class BatchParser {
+
+	private static final int TASKS_PER_THREAD = 4;
+
+	private final Schema schema;
+
+	public BatchParser(Schema schema) {
+		this.schema = schema;
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public List<ParseResult> parseAll(Collection<String[]> argvs) {
+		return parseAll(argvs, ForkJoinPool.commonPool());
+	}
+
+	public List<ParseResult> parseAll(Collection<String[]> argvs, ForkJoinPool pool) {
+		String[][] inputs = inputs(argvs);
+		ParseResult[] results = new ParseResult[inputs.length];
+		int threshold = threshold(inputs.length, pool.getParallelism());
+		pool.invoke(new ParseTask(inputs, results, 0, inputs.length, threshold));
+		return Collections.unmodifiableList(Arrays.asList(results));
+	}
+
+	public List<ParseResult> parseAll(Collection<String[]> argvs, Executor executor) {
+		String[][] inputs = inputs(argvs);
+		final ParseResult[] results = new ParseResult[inputs.length];
+		int chunkSize = threshold(inputs.length, Runtime.getRuntime().availableProcessors());
+		List<CompletableFuture<Void>> chunks = new ArrayList<CompletableFuture<Void>>();
+		for (int start = 0; start < inputs.length; start += chunkSize) {
+			chunks.add(CompletableFuture.runAsync(
+				new ParseChunk(inputs, results, start, Math.min(start + chunkSize, inputs.length)), executor));
+		}
+		CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[chunks.size()])).join();
+		return Collections.unmodifiableList(Arrays.asList(results));
+	}
+
+	// Parses in parallel only if argvs is a parallel stream; the results keep its encounter order.
+	public List<ParseResult> parseAll(Stream<String[]> argvs) {
+		return Collections.unmodifiableList(argvs.map(schema::tryParse).collect(Collectors.toList()));
+	}
+
+	// Nulls are rejected before parsing starts. A worker would otherwise fail the whole batch with a
+	// CompletionException and lose the results that were already parsed.
+	private static String[][] inputs(Collection<String[]> argvs) {
+		String[][] inputs = argvs.toArray(new String[argvs.size()][]);
+		for (int i = 0; i < inputs.length; i++) {
+			if (inputs[i] == null) {
+				throw new NullPointerException("Command line " + i + " is null.");
+			}
+			for (int j = 0; j < inputs[i].length; j++) {
+				if (inputs[i][j] == null) {
+					throw new NullPointerException("Argument " + j + " of command line " + i + " is null.");
+				}
+			}
+		}
+		return inputs;
+	}
+
+	private static int threshold(int size, int parallelism) {
+		return Math.max(1, size / (Math.max(1, parallelism) * TASKS_PER_THREAD));
+	}
+
+	private class ParseChunk implements Runnable {
+
+		private final String[][] inputs;
+		private final ParseResult[] results;
+		private final int start;
+		private final int end;
+
+		ParseChunk(String[][] inputs, ParseResult[] results, int start, int end) {
+			this.inputs = inputs;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public void run() {
+			for (int i = start; i < end; i++) {
+				results[i] = schema.tryParse(inputs[i]);
+			}
+		}
+
+	}
+
+	private class ParseTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String[][] inputs;
+		private final ParseResult[] results;
+		private final int start;
+		private final int end;
+		private final int threshold;
+
+		ParseTask(String[][] inputs, ParseResult[] results, int start, int end, int threshold) {
+			this.inputs = inputs;
+			this.results = results;
+			this.start = start;
+			this.end = end;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= threshold) {
+				new ParseChunk(inputs, results, start, end).run();
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new ParseTask(inputs, results, start, middle, threshold),
+					new ParseTask(inputs, results, middle, end, threshold));
+			}
+		}
+
+	}
+
+}
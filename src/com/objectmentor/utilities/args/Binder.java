@@ -0,0 +1,314 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+public final class Binder<T> {
+
+	private static final ClassValue<Binder<?>> BINDERS = new ClassValue<Binder<?>>() {
+		@Override
+		protected Binder<?> computeValue(Class<?> type) {
+			try {
+				return new Binder<Object>(type);
+			} catch (ArgsException e) {
+				throw new Failure(e);
+			}
+		}
+	};
+
+	private static final class Failure extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ArgsException cause;
+
+		Failure(ArgsException cause) {
+			super(cause);
+			this.cause = cause;
+		}
+
+	}
+
+	private final Class<?> type;
+	private final Schema schema;
+	private final MethodHandle constructor;
+	private final FieldBinder[] fieldBinders;
+
+	@SuppressWarnings("unchecked")
+	public static <T> Binder<T> of(Class<T> type) throws ArgsException {
+		try {
+			return (Binder<T>) BINDERS.get(type);
+		} catch (Failure e) {
+			throw e.cause;
+		}
+	}
+
+	private Binder(Class<?> type) throws ArgsException {
+		List<Field> fields = new ArrayList<Field>();
+		collectFields(type, fields);
+		StringBuilder schema = new StringBuilder();
+		Set<Character> ids = new HashSet<Character>();
+		for (Field field : fields) {
+			char id = field.getAnnotation(Argument.class).value();
+			if (!ids.add(id) || Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+				throw new ArgsException(INVALID_ARGUMENT_FORMAT, id, describe(field));
+			}
+			schema.append(schema.length() == 0 ? "" : ",").append(id).append(schemaTail(id, field));
+		}
+
+		this.type = type;
+		this.schema = new Schema(schema.toString());
+		this.constructor = findConstructor(type);
+		this.fieldBinders = new FieldBinder[fields.size()];
+		for (int i = 0; i < fields.size(); i++) {
+			fieldBinders[i] = createFieldBinder(fields.get(i));
+		}
+	}
+
+	private static void collectFields(Class<?> type, List<Field> fields) {
+		if (type.getSuperclass() != null) {
+			collectFields(type.getSuperclass(), fields);
+		}
+		for (Field field : type.getDeclaredFields()) {
+			if (field.isAnnotationPresent(Argument.class)) {
+				fields.add(field);
+			}
+		}
+	}
+
+	private static String schemaTail(char id, Field field) throws ArgsException {
+		Class<?> fieldType = field.getType();
+		if (fieldType == boolean.class) {
+			return "";
+		} else if (fieldType == String.class) {
+			return "*";
+		} else if (fieldType == int.class) {
+			return "#";
+		} else if (fieldType == double.class) {
+			return "##";
+		} else if (fieldType == String[].class || isStringList(field)) {
+			return "[*]";
+		} else {
+			throw new ArgsException(INVALID_ARGUMENT_FORMAT, id, describe(field));
+		}
+	}
+
+	private static boolean isStringList(Field field) {
+		Type fieldType = field.getGenericType();
+		return fieldType instanceof ParameterizedType && ((ParameterizedType) fieldType).getRawType() == List.class
+			&& ((ParameterizedType) fieldType).getActualTypeArguments()[0] == String.class;
+	}
+
+	private static String describe(Field field) {
+		return field.getType().getSimpleName() + " " + field.getName();
+	}
+
+	private static MethodHandle findConstructor(Class<?> type) {
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			return MethodHandles.lookup().unreflectConstructor(constructor)
+				.asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException e) {
+			return null;
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private FieldBinder createFieldBinder(Field field) throws ArgsException {
+		char id = field.getAnnotation(Argument.class).value();
+		Class<?> fieldType = field.getType();
+		MethodHandle setter;
+		try {
+			field.setAccessible(true);
+			setter = MethodHandles.lookup().unreflectSetter(field)
+				.asType(MethodType.methodType(void.class, Object.class, fieldType));
+		} catch (IllegalAccessException e) {
+			throw new ArgsException(INVALID_ARGUMENT_FORMAT, id, describe(field));
+		}
+		if (fieldType == boolean.class) {
+			return new BooleanFieldBinder(schema.booleanHandle(id), setter);
+		} else if (fieldType == String.class) {
+			return new StringFieldBinder(schema.stringHandle(id), setter);
+		} else if (fieldType == int.class) {
+			return new IntFieldBinder(schema.intHandle(id), setter);
+		} else if (fieldType == double.class) {
+			return new DoubleFieldBinder(schema.doubleHandle(id), setter);
+		} else if (fieldType == String[].class) {
+			return new StringArrayFieldBinder(schema.stringArrayHandle(id), setter);
+		} else if (isStringList(field)) {
+			return new StringListFieldBinder(schema.stringArrayHandle(id), setter);
+		} else {
+			throw new ArgsException(INVALID_ARGUMENT_FORMAT, id, describe(field));
+		}
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public T parse(String[] args) throws ArgsException {
+		return bind(schema.parse(args));
+	}
+
+	@SuppressWarnings("unchecked")
+	public T bind(Args args) throws ArgsException {
+		if (constructor == null) {
+			throw new IllegalStateException(type.getName() + " has no accessible no-argument constructor.");
+		}
+		T target;
+		try {
+			target = (T) (Object) constructor.invokeExact();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+		bind(args, target);
+		return target;
+	}
+
+	// Only arguments that were found are written, so field initializers act as defaults.
+	public void bind(Args args, T target) throws ArgsException {
+		try {
+			for (FieldBinder fieldBinder : fieldBinders) {
+				fieldBinder.bind(args, target);
+			}
+		} catch (ArgsException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static abstract class FieldBinder {
+
+		final MethodHandle setter;
+
+		FieldBinder(MethodHandle setter) {
+			this.setter = setter;
+		}
+
+		abstract void bind(Args args, Object target) throws Throwable;
+
+	}
+
+	private static final class BooleanFieldBinder extends FieldBinder {
+
+		private final BooleanHandle handle;
+
+		BooleanFieldBinder(BooleanHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.get(args));
+			}
+		}
+
+	}
+
+	private static final class StringFieldBinder extends FieldBinder {
+
+		private final StringHandle handle;
+
+		StringFieldBinder(StringHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.get(args));
+			}
+		}
+
+	}
+
+	private static final class IntFieldBinder extends FieldBinder {
+
+		private final IntHandle handle;
+
+		IntFieldBinder(IntHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.get(args));
+			}
+		}
+
+	}
+
+	private static final class DoubleFieldBinder extends FieldBinder {
+
+		private final DoubleHandle handle;
+
+		DoubleFieldBinder(DoubleHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.get(args));
+			}
+		}
+
+	}
+
+	private static final class StringArrayFieldBinder extends FieldBinder {
+
+		private final StringArrayHandle handle;
+
+		StringArrayFieldBinder(StringArrayHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.get(args));
+			}
+		}
+
+	}
+
+	private static final class StringListFieldBinder extends FieldBinder {
+
+		private final StringArrayHandle handle;
+
+		StringListFieldBinder(StringArrayHandle handle, MethodHandle setter) {
+			super(setter);
+			this.handle = handle;
+		}
+
+		@Override
+		void bind(Args args, Object target) throws Throwable {
+			if (handle.found(args)) {
+				setter.invokeExact(target, handle.getList(args));
+			}
+		}
+
+	}
+
+}
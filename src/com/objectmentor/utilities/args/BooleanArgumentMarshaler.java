@@ -2,7 +2,7 @@ package com.objectmentor.utilities.args;
 
 import java.util.Iterator;
 
-public class BooleanArgumentMarshaler implements ArgumentMarshaler {
+public class BooleanArgumentMarshaler implements ResettableArgumentMarshaler {
 
 	private boolean booleanValue = false;
 
@@ -11,6 +11,21 @@ public class BooleanArgumentMarshaler implements ArgumentMarshaler {
 		booleanValue = true;
 	}
 
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		booleanValue = true;
+		return currentArgument;
+	}
+
+	@Override
+	public void reset() {
+		booleanValue = false;
+	}
+
+	boolean value() {
+		return booleanValue;
+	}
+
 	public static boolean getValue(ArgumentMarshaler am) {
 		if (am != null && am instanceof BooleanArgumentMarshaler) {
 			return ((BooleanArgumentMarshaler) am).booleanValue;
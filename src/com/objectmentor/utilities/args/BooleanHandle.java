@@ -0,0 +1,17 @@
+package com.objectmentor.utilities.args;
+
+public final class BooleanHandle extends ArgumentHandle {
+
+	BooleanHandle(Schema schema, int slot) throws ArgsException {
+		super(schema, slot, ArgumentType.BOOLEAN);
+	}
+
+	public boolean get(Args args) throws ArgsException {
+		return ((BooleanArgumentMarshaler) marshaler(args)).value();
+	}
+
+	public boolean get(ArgsSnapshot snapshot) {
+		return checkSchema(snapshot).primitiveAt(slot) != 0;
+	}
+
+}
@@ -0,0 +1,7 @@
+package com.objectmentor.utilities.args;
+
+public interface CommandHandler<T> {
+
+	T run(Args globalArgs, Args commandArgs) throws ArgsException;
+
+}
@@ -0,0 +1,49 @@
+package com.objectmentor.utilities.args;
+
+import java.nio.ByteBuffer;
+
+// A command line that has not been split into arguments yet. Parsing it tokenizes the input on the fly, so only
+// retained values and extra arguments become strings; flags and numbers are read straight from the input.
+public final class CommandLine {
+
+	private final CharSequence chars;
+	private final ByteBuffer bytes;
+	private final boolean shellSyntax;
+
+	private CommandLine(CharSequence chars, ByteBuffer bytes, boolean shellSyntax) {
+		this.chars = chars;
+		this.bytes = bytes;
+		this.shellSyntax = shellSyntax;
+	}
+
+	// Arguments are separated by whitespace. Single quotes preserve everything up to the next single quote. In
+	// double quotes a backslash escapes ", \, $ and `, and outside quotes it escapes any character. A backslash
+	// before a newline joins the lines.
+	public static CommandLine shell(CharSequence commandLine) {
+		return new CommandLine(commandLine, null, true);
+	}
+
+	// The same syntax over UTF-8 bytes between the buffer's position and limit. The buffer is not modified.
+	public static CommandLine shell(ByteBuffer utf8) {
+		return new CommandLine(null, utf8.duplicate(), true);
+	}
+
+	// Arguments terminated by NUL characters and taken literally, as in /proc/<pid>/cmdline.
+	public static CommandLine nulSeparated(CharSequence commandLine) {
+		return new CommandLine(commandLine, null, false);
+	}
+
+	public static CommandLine nulSeparated(ByteBuffer utf8) {
+		return new CommandLine(null, utf8.duplicate(), false);
+	}
+
+	CommandLineTokenizer tokenizer() {
+		return new CommandLineTokenizer(chars, bytes == null ? null : bytes.duplicate(), shellSyntax);
+	}
+
+	@Override
+	public String toString() {
+		return chars != null ? chars.toString() : bytes.remaining() + " bytes";
+	}
+
+}
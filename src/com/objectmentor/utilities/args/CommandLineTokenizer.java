@@ -0,0 +1,231 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.nio.ByteBuffer;
+
+// Splits a CommandLine into tokens one at a time. Every token is decoded into the same buffer, and token() and
+// tokenFrom() are views of it that stay valid until the next call to next().
+final class CommandLineTokenizer {
+
+	private static final char REPLACEMENT = '\uFFFD';
+
+	private final CharSequence chars;
+	private final ByteBuffer bytes;
+	private final boolean shellSyntax;
+	private int position;
+	private int pendingLowSurrogate = -1;
+	private char[] token = new char[64];
+	private int tokenLength;
+	private int tokenCount;
+	private char[] saved = new char[16];
+	private final View tokenView = new View();
+	private final View suffixView = new View();
+
+	CommandLineTokenizer(CharSequence chars, ByteBuffer bytes, boolean shellSyntax) {
+		this.chars = chars;
+		this.bytes = bytes;
+		this.shellSyntax = shellSyntax;
+	}
+
+	// Advances to the next token and returns false at the end of the input.
+	boolean next() throws ArgsException {
+		return shellSyntax ? nextShellToken() : nextNulTerminatedToken();
+	}
+
+	CharSequence token() {
+		tokenView.start = 0;
+		return tokenView;
+	}
+
+	// The rest of the current token from start, for values given inline as in --name=value.
+	CharSequence tokenFrom(int start) {
+		suffixView.start = start;
+		return suffixView;
+	}
+
+	// Copies the current token, so that its characters survive reading the values that follow it.
+	char[] saveToken() {
+		if (saved.length < tokenLength) {
+			saved = new char[Math.max(tokenLength, saved.length * 2)];
+		}
+		System.arraycopy(token, 0, saved, 0, tokenLength);
+		return saved;
+	}
+
+	int tokenCount() {
+		return tokenCount;
+	}
+
+	// A word made only of line continuations is skipped, while quotes always make a token, even an empty one.
+	private boolean nextShellToken() throws ArgsException {
+		boolean quoted;
+		do {
+			int c = read();
+			while (isWhitespace(c)) {
+				c = read();
+			}
+			if (c < 0) {
+				return false;
+			}
+			tokenLength = 0;
+			quoted = false;
+			while (c >= 0 && !isWhitespace(c)) {
+				if (c == '\'') {
+					quoted = true;
+					for (c = read(); c != '\''; c = read()) {
+						append(checkNotEnd(c, "unterminated single quote"));
+					}
+				} else if (c == '"') {
+					quoted = true;
+					for (c = read(); c != '"'; c = read()) {
+						if (checkNotEnd(c, "unterminated double quote") == '\\') {
+							int escaped = checkNotEnd(read(), "unterminated double quote");
+							if (escaped == '\n') {
+								continue;
+							}
+							if (escaped != '"' && escaped != '\\' && escaped != '$' && escaped != '`') {
+								append(c);
+							}
+							c = escaped;
+						}
+						append(c);
+					}
+				} else if (c == '\\') {
+					c = checkNotEnd(read(), "backslash at end of input");
+					if (c != '\n') {
+						append(c);
+					}
+				} else {
+					append(c);
+				}
+				c = read();
+			}
+		} while (tokenLength == 0 && !quoted);
+		tokenCount++;
+		return true;
+	}
+
+	private boolean nextNulTerminatedToken() {
+		int c = read();
+		if (c < 0) {
+			return false;
+		}
+		tokenLength = 0;
+		for (; c > 0; c = read()) {
+			append(c);
+		}
+		tokenCount++;
+		return true;
+	}
+
+	private int checkNotEnd(int c, String problem) throws ArgsException {
+		if (c < 0) {
+			throw new ArgsException(MALFORMED_COMMAND_LINE, '\0', problem, false);
+		}
+		return c;
+	}
+
+	private static boolean isWhitespace(int c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+	}
+
+	private void append(int c) {
+		if (tokenLength == token.length) {
+			char[] grown = new char[token.length * 2];
+			System.arraycopy(token, 0, grown, 0, tokenLength);
+			token = grown;
+		}
+		token[tokenLength++] = (char) c;
+	}
+
+	private int read() {
+		if (chars != null) {
+			return position < chars.length() ? chars.charAt(position++) : -1;
+		}
+		if (pendingLowSurrogate >= 0) {
+			int low = pendingLowSurrogate;
+			pendingLowSurrogate = -1;
+			return low;
+		}
+		return bytes.hasRemaining() ? decode() : -1;
+	}
+
+	// Decodes one UTF-8 sequence and replaces malformed input exactly like new String(bytes, UTF_8): the longest
+	// prefix of a valid sequence becomes one U+FFFD and the byte that breaks it starts the next sequence. Ranges
+	// for the second byte rule out overlong forms and code points above U+10FFFF; an encoded surrogate is
+	// consumed whole and becomes a single U+FFFD.
+	private int decode() {
+		int b = bytes.get() & 0xff;
+		if (b < 0x80) {
+			return b;
+		}
+		int continuations;
+		int codePoint;
+		int low = 0x80;
+		int high = 0xbf;
+		if (b >= 0xc2 && b < 0xe0) {
+			continuations = 1;
+			codePoint = b & 0x1f;
+		} else if (b >= 0xe0 && b < 0xf0) {
+			continuations = 2;
+			codePoint = b & 0x0f;
+			low = b == 0xe0 ? 0xa0 : 0x80;
+		} else if (b >= 0xf0 && b < 0xf5) {
+			continuations = 3;
+			codePoint = b & 0x07;
+			low = b == 0xf0 ? 0x90 : 0x80;
+			high = b == 0xf4 ? 0x8f : 0xbf;
+		} else {
+			return REPLACEMENT;
+		}
+		for (int i = 0; i < continuations; i++) {
+			int next = bytes.hasRemaining() ? bytes.get(bytes.position()) & 0xff : -1;
+			if (next < low || next > high) {
+				return REPLACEMENT;
+			}
+			bytes.get();
+			codePoint = codePoint << 6 | (next & 0x3f);
+			low = 0x80;
+			high = 0xbf;
+		}
+		if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+			return REPLACEMENT;
+		}
+		if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+			pendingLowSurrogate = Character.lowSurrogate(codePoint);
+			return Character.highSurrogate(codePoint);
+		}
+		return codePoint;
+	}
+
+	private final class View implements CharSequence {
+
+		int start;
+
+		@Override
+		public int length() {
+			return tokenLength - start;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0 || index >= tokenLength - start) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + (tokenLength - start));
+			}
+			return token[start + index];
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to) {
+			return toString().substring(from, to);
+		}
+
+		@Override
+		public String toString() {
+			return new String(token, start, tokenLength - start);
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.util.*;
+
+// Dispatches git-style command lines: global options, a command name, then that command's options. A command's
+// schema is compiled the first time the command is invoked, so registering many commands stays cheap.
+public final class CommandRegistry<T> {
+
+	private final Schema globalSchema;
+	private final Map<String, Command<T>> commands = new HashMap<String, Command<T>>();
+
+	private static final class Command<T> {
+
+		private final String schema;
+		private final ParseOption[] options;
+		private final CommandHandler<T> handler;
+		private volatile Schema compiled;
+
+		Command(String schema, ParseOption[] options, CommandHandler<T> handler) {
+			this.schema = schema;
+			this.options = options;
+			this.handler = handler;
+		}
+
+		Schema getSchema() throws ArgsException {
+			Schema result = compiled;
+			if (result == null) {
+				synchronized (this) {
+					result = compiled;
+					if (result == null) {
+						result = new Schema(schema, options);
+						compiled = result;
+					}
+				}
+			}
+			return result;
+		}
+
+	}
+
+	public CommandRegistry() throws ArgsException {
+		this(new Schema(""));
+	}
+
+	public CommandRegistry(Schema globalSchema) {
+		this.globalSchema = globalSchema;
+	}
+
+	public Schema getGlobalSchema() {
+		return globalSchema;
+	}
+
+	// Register all commands before dispatching from several threads.
+	public CommandRegistry<T> register(String name, String schema, CommandHandler<T> handler,
+		ParseOption... options) {
+		if (commands.containsKey(name)) {
+			throw new IllegalArgumentException("Command '" + name + "' is already registered.");
+		}
+		commands.put(name, new Command<T>(schema, options.clone(), handler));
+		return this;
+	}
+
+	public boolean contains(String name) {
+		return commands.containsKey(name);
+	}
+
+	public Set<String> commandNames() {
+		return Collections.unmodifiableSet(commands.keySet());
+	}
+
+	public Schema getSchema(String name) throws ArgsException {
+		return getCommand(name).getSchema();
+	}
+
+	public T dispatch(String[] args) throws ArgsException {
+		Args globalArgs = globalSchema.parse(args);
+		// The extra arguments rather than an index into args, which argument files would have shifted.
+		List<String> remaining = globalArgs.extraArguments();
+		if (remaining.isEmpty()) {
+			throw new ArgsException(MISSING_COMMAND);
+		}
+		Command<T> command = getCommand(remaining.get(0));
+		Args commandArgs = command.getSchema().parse(remaining.subList(1, remaining.size()).toArray(new String[0]));
+		return command.handler.run(globalArgs, commandArgs);
+	}
+
+	private Command<T> getCommand(String name) throws ArgsException {
+		Command<T> command = commands.get(name);
+		if (command == null) {
+			throw new ArgsException(UNKNOWN_COMMAND, name);
+		}
+		return command;
+	}
+
+}
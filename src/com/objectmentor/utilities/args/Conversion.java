@@ -0,0 +1,5 @@
+package com.objectmentor.utilities.args;
+
+enum Conversion {
+	EAGER, LAZY, VALIDATED_LAZY
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.objectmentor.utilities.args;
+
+import java.io.PrintStream;
+import java.util.Map;
+
+public interface DaemonHandler {
+
+	// Returns the exit code for the client. out and err are streamed back to it.
+	int run(Args args, Map<String, String> environment, PrintStream out, PrintStream err) throws ArgsException;
+
+}
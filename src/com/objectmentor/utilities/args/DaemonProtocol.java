@@ -0,0 +1,139 @@
+package com.objectmentor.utilities.args;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// The client sends the argument count and arguments, then the environment size and its keys and values, every
+// string as a length and UTF-8 bytes. The daemon answers with frames: a type byte, then for output frames a length
+// and that many bytes, and for the final exit frame the exit code.
+final class DaemonProtocol {
+
+	static final byte STDOUT = 1;
+	static final byte STDERR = 2;
+	static final byte EXIT = 3;
+
+	private static final int MAX_COUNT = 1 << 16;
+	private static final int MAX_STRING_BYTES = 1 << 20;
+
+	private DaemonProtocol() {}
+
+	static void writeRequest(DataOutputStream out, String[] args, Map<String, String> environment)
+		throws IOException {
+		out.writeInt(args.length);
+		for (String arg : args) {
+			writeString(out, arg);
+		}
+		out.writeInt(environment.size());
+		for (Map.Entry<String, String> entry : environment.entrySet()) {
+			writeString(out, entry.getKey());
+			writeString(out, entry.getValue());
+		}
+		out.flush();
+	}
+
+	static String[] readArguments(DataInputStream in) throws IOException {
+		String[] args = new String[readCount(in)];
+		for (int i = 0; i < args.length; i++) {
+			args[i] = readString(in);
+		}
+		return args;
+	}
+
+	static Map<String, String> readEnvironment(DataInputStream in) throws IOException {
+		int size = readCount(in);
+		Map<String, String> environment = new HashMap<String, String>(size * 2);
+		for (int i = 0; i < size; i++) {
+			environment.put(readString(in), readString(in));
+		}
+		return Collections.unmodifiableMap(environment);
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > MAX_STRING_BYTES) {
+			throw new IOException("Malformed request: string of " + length + " bytes.");
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > MAX_COUNT) {
+			throw new IOException("Malformed request: " + count + " entries.");
+		}
+		return count;
+	}
+
+	static void writeExit(DataOutputStream out, int exitCode) throws IOException {
+		synchronized (out) {
+			out.writeByte(EXIT);
+			out.writeInt(exitCode);
+			out.flush();
+		}
+	}
+
+	// Copies output frames to out and err until the exit frame arrives, and returns its exit code.
+	static int readResponse(DataInputStream in, OutputStream out, OutputStream err) throws IOException {
+		byte[] buffer = new byte[8192];
+		while (true) {
+			int type = in.read();
+			if (type == EXIT) {
+				return in.readInt();
+			} else if (type != STDOUT && type != STDERR) {
+				throw new IOException(type < 0 ? "Daemon closed the connection without an exit code."
+					: "Malformed response: frame type " + type + ".");
+			}
+			OutputStream target = type == STDOUT ? out : err;
+			for (int remaining = in.readInt(); remaining > 0;) {
+				int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new EOFException();
+				}
+				target.write(buffer, 0, read);
+				remaining -= read;
+			}
+			target.flush();
+		}
+	}
+
+	// Turns every write into one frame. Wrapped in a BufferedOutputStream, so frames are flushed in chunks.
+	static final class FrameOutputStream extends OutputStream {
+
+		private final DataOutputStream out;
+		private final byte type;
+
+		FrameOutputStream(DataOutputStream out, byte type) {
+			this.out = out;
+			this.type = type;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return;
+			}
+			synchronized (out) {
+				out.writeByte(type);
+				out.writeInt(len);
+				out.write(b, off, len);
+				out.flush();
+			}
+		}
+
+	}
+
+}
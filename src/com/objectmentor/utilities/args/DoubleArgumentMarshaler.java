@@ -5,23 +5,86 @@ import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class DoubleArgumentMarshaler implements ArgumentMarshaler {
+public class DoubleArgumentMarshaler implements LazyArgumentMarshaler, ResettableArgumentMarshaler,
+	ValueArgumentMarshaler {
 
+	private final Conversion conversion;
 	private double doubleValue = 0;
+	private String pendingParameter;
+
+	public DoubleArgumentMarshaler() {
+		this(Conversion.EAGER);
+	}
+
+	DoubleArgumentMarshaler(Conversion conversion) {
+		this.conversion = conversion;
+	}
 
 	@Override
 	public void set(Iterator<String> currentArgument) throws ArgsException {
-		String parameter = null;
+		String parameter;
 		try {
 			parameter = currentArgument.next();
-			doubleValue = Double.parseDouble(parameter);
 		} catch (NoSuchElementException e) {
-			throw new ArgsException(MISSING_DOUBLE);
-		} catch (NumberFormatException e) {
-			throw new ArgsException(INVALID_DOUBLE, parameter);
+			throw new ArgsException(MISSING_DOUBLE, '\0', null, false);
+		}
+		setValue(parameter);
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_DOUBLE, '\0', null, false);
+		}
+		setValue(args[currentArgument]);
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) throws ArgsException {
+		setValue(value);
+	}
+
+	private void setValue(CharSequence parameter) throws ArgsException {
+		if (conversion == Conversion.EAGER) {
+			convert(parameter);
+		} else {
+			if (conversion == Conversion.VALIDATED_LAZY) {
+				validate(parameter);
+			}
+			pendingParameter = parameter.toString();
 		}
 	}
 
+	@Override
+	public void convert() throws ArgsException {
+		if (pendingParameter != null) {
+			convert(pendingParameter);
+			pendingParameter = null;
+		}
+	}
+
+	private void convert(CharSequence parameter) throws ArgsException {
+		validate(parameter);
+		doubleValue = NumberParser.parseDouble(parameter);
+	}
+
+	private static void validate(CharSequence parameter) throws ArgsException {
+		if (!NumberParser.isDouble(parameter)) {
+			throw new ArgsException(INVALID_DOUBLE, '\0', parameter.toString(), false);
+		}
+	}
+
+	@Override
+	public void reset() {
+		doubleValue = 0;
+		pendingParameter = null;
+	}
+
+	double value() {
+		return doubleValue;
+	}
+
 	public static double getValue(ArgumentMarshaler am) {
 		if (am != null && am instanceof DoubleArgumentMarshaler) {
 			return ((DoubleArgumentMarshaler) am).doubleValue;
@@ -0,0 +1,87 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.nio.DoubleBuffer;
+import java.util.*;
+
+// Repeated doubles are converted as they arrive and kept in a growable double[], eight bytes per value.
+public class DoubleArrayArgumentMarshaler implements ResettableArgumentMarshaler, ValueArgumentMarshaler {
+
+	private static final double[] NO_DOUBLES = new double[0];
+	private static final int INITIAL_CAPACITY = 8;
+
+	private double[] doubles = NO_DOUBLES;
+	private int count;
+	private boolean viewShared;
+
+	@Override
+	public void set(Iterator<String> currentArgument) throws ArgsException {
+		String parameter;
+		try {
+			parameter = currentArgument.next();
+		} catch (NoSuchElementException e) {
+			throw new ArgsException(MISSING_DOUBLE, '\0', null, false);
+		}
+		add(parameter);
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_DOUBLE, '\0', null, false);
+		}
+		add(args[currentArgument]);
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) throws ArgsException {
+		add(value);
+	}
+
+	private void add(CharSequence parameter) throws ArgsException {
+		if (!NumberParser.isDouble(parameter)) {
+			throw new ArgsException(INVALID_DOUBLE, '\0', parameter.toString(), false);
+		}
+		if (count == doubles.length) {
+			doubles = Arrays.copyOf(doubles, Math.max(INITIAL_CAPACITY, count * 2));
+		}
+		doubles[count++] = NumberParser.parseDouble(parameter);
+	}
+
+	@Override
+	public void reset() {
+		if (viewShared) {
+			doubles = NO_DOUBLES;
+			viewShared = false;
+		}
+		count = 0;
+	}
+
+	double[] toArray() {
+		return Arrays.copyOf(doubles, count);
+	}
+
+	DoubleBuffer getBuffer() {
+		viewShared = true;
+		return DoubleBuffer.wrap(doubles, 0, count).slice().asReadOnlyBuffer();
+	}
+
+	public static double[] getValue(ArgumentMarshaler am) {
+		if (am != null && am instanceof DoubleArrayArgumentMarshaler) {
+			return ((DoubleArrayArgumentMarshaler) am).toArray();
+		} else {
+			return new double[0];
+		}
+	}
+
+	public static DoubleBuffer getBuffer(ArgumentMarshaler am) {
+		if (am != null && am instanceof DoubleArrayArgumentMarshaler) {
+			return ((DoubleArrayArgumentMarshaler) am).getBuffer();
+		} else {
+			return DoubleBuffer.wrap(NO_DOUBLES).asReadOnlyBuffer();
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.objectmentor.utilities.args;
+
+public final class DoubleHandle extends ArgumentHandle {
+
+	private final boolean lazy;
+
+	DoubleHandle(Schema schema, int slot) throws ArgsException {
+		super(schema, slot, ArgumentType.DOUBLE);
+		this.lazy = schema.hasOption(ParseOption.LAZY_CONVERSION);
+	}
+
+	public double get(Args args) throws ArgsException {
+		DoubleArgumentMarshaler marshaler = (DoubleArgumentMarshaler) marshaler(args);
+		if (lazy) {
+			args.convert(slot, marshaler);
+		}
+		return marshaler.value();
+	}
+
+	public double getOrDefault(Args args, double defaultValue) throws ArgsException {
+		return found(args) ? get(args) : defaultValue;
+	}
+
+	public double get(ArgsSnapshot snapshot) {
+		return Double.longBitsToDouble(checkSchema(snapshot).primitiveAt(slot));
+	}
+
+	public double getOrDefault(ArgsSnapshot snapshot, double defaultValue) {
+		return found(snapshot) ? Double.longBitsToDouble(snapshot.primitiveAt(slot)) : defaultValue;
+	}
+
+}
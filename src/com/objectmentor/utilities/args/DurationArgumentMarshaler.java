@@ -0,0 +1,34 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.time.Duration;
+
+public class DurationArgumentMarshaler extends LongValueArgumentMarshaler {
+
+	public DurationArgumentMarshaler() {
+		this(Conversion.EAGER);
+	}
+
+	DurationArgumentMarshaler(Conversion conversion) {
+		super(conversion, MISSING_DURATION);
+	}
+
+	@Override
+	long parse(CharSequence parameter) throws ArgsException {
+		long value = NumberParser.parseDuration(parameter);
+		if (value == NumberParser.NOT_A_DURATION) {
+			throw new ArgsException(INVALID_DURATION, '\0', parameter.toString(), false);
+		}
+		return value;
+	}
+
+	public static Duration getValue(ArgumentMarshaler am) {
+		if (am != null && am instanceof DurationArgumentMarshaler) {
+			return Duration.ofNanos(((DurationArgumentMarshaler) am).value());
+		} else {
+			return Duration.ZERO;
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package com.objectmentor.utilities.args;
+
+import java.util.Arrays;
+
+// Declares, per argument, the sources consulted in order when the argument is missing from the command line.
+// Declare all fallbacks before sharing an instance between parses.
+public final class Fallbacks {
+
+	private static final ValueSource[] NO_SOURCES = new ValueSource[0];
+	private static final String[] NO_KEYS = new String[0];
+
+	private final Schema schema;
+	private final ValueSource[][] sources;
+	private final String[][] keys;
+
+	public Fallbacks(Schema schema) {
+		this.schema = schema;
+		this.sources = new ValueSource[schema.size()][];
+		this.keys = new String[schema.size()][];
+		Arrays.fill(sources, NO_SOURCES);
+		Arrays.fill(keys, NO_KEYS);
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public Fallbacks add(char arg, ValueSource source, String key) throws ArgsException {
+		return add(schema.validateSlot(arg), source, key);
+	}
+
+	public Fallbacks add(String name, ValueSource source, String key) throws ArgsException {
+		return add(schema.validateSlot(name), source, key);
+	}
+
+	private Fallbacks add(int slot, ValueSource source, String key) {
+		int count = sources[slot].length;
+		sources[slot] = Arrays.copyOf(sources[slot], count + 1);
+		keys[slot] = Arrays.copyOf(keys[slot], count + 1);
+		sources[slot][count] = source;
+		keys[slot][count] = key;
+		return this;
+	}
+
+	int sourceCount(int slot) {
+		return sources[slot].length;
+	}
+
+	ValueSource source(int slot, int index) {
+		return sources[slot][index];
+	}
+
+	String key(int slot, int index) {
+		return keys[slot][index];
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.objectmentor.utilities.args;
+
+import java.lang.annotation.*;
+
+// Asks ArgumentParserProcessor to generate a reflection-free <Type>Parser for the @Argument fields of a class.
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateParser {
+}
@@ -0,0 +1,32 @@
+package com.objectmentor.utilities.args;
+
+public final class IntHandle extends ArgumentHandle {
+
+	private final boolean lazy;
+
+	IntHandle(Schema schema, int slot) throws ArgsException {
+		super(schema, slot, ArgumentType.INTEGER);
+		this.lazy = schema.hasOption(ParseOption.LAZY_CONVERSION);
+	}
+
+	public int get(Args args) throws ArgsException {
+		IntegerArgumentMarshaler marshaler = (IntegerArgumentMarshaler) marshaler(args);
+		if (lazy) {
+			args.convert(slot, marshaler);
+		}
+		return marshaler.value();
+	}
+
+	public int getOrDefault(Args args, int defaultValue) throws ArgsException {
+		return found(args) ? get(args) : defaultValue;
+	}
+
+	public int get(ArgsSnapshot snapshot) {
+		return (int) checkSchema(snapshot).primitiveAt(slot);
+	}
+
+	public int getOrDefault(ArgsSnapshot snapshot, int defaultValue) {
+		return found(snapshot) ? (int) snapshot.primitiveAt(slot) : defaultValue;
+	}
+
+}
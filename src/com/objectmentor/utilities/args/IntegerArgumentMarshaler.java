@@ -5,21 +5,78 @@ import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class IntegerArgumentMarshaler implements ArgumentMarshaler {
+public class IntegerArgumentMarshaler implements LazyArgumentMarshaler, ResettableArgumentMarshaler,
+	ValueArgumentMarshaler {
 
+	private final boolean lazy;
 	private int intValue = 0;
+	private String pendingParameter;
+
+	public IntegerArgumentMarshaler() {
+		this(Conversion.EAGER);
+	}
+
+	IntegerArgumentMarshaler(Conversion conversion) {
+		this.lazy = conversion == Conversion.LAZY;
+	}
 
 	@Override
 	public void set(Iterator<String> currentArgument) throws ArgsException {
-		String parameter = null;
+		String parameter;
 		try {
 			parameter = currentArgument.next();
-			intValue = Integer.parseInt(parameter);
 		} catch (NoSuchElementException e) {
-			throw new ArgsException(MISSING_INTEGER);
-		} catch (NumberFormatException e) {
-			throw new ArgsException(INVALID_INTEGER, parameter);
+			throw new ArgsException(MISSING_INTEGER, '\0', null, false);
+		}
+		setValue(parameter);
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_INTEGER, '\0', null, false);
 		}
+		setValue(args[currentArgument]);
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) throws ArgsException {
+		setValue(value);
+	}
+
+	private void setValue(CharSequence parameter) throws ArgsException {
+		if (lazy) {
+			pendingParameter = parameter.toString();
+		} else {
+			convert(parameter);
+		}
+	}
+
+	@Override
+	public void convert() throws ArgsException {
+		if (pendingParameter != null) {
+			convert(pendingParameter);
+			pendingParameter = null;
+		}
+	}
+
+	private void convert(CharSequence parameter) throws ArgsException {
+		long value = NumberParser.parseInt(parameter);
+		if (value == NumberParser.NOT_AN_INTEGER) {
+			throw new ArgsException(INVALID_INTEGER, '\0', parameter.toString(), false);
+		}
+		intValue = (int) value;
+	}
+
+	@Override
+	public void reset() {
+		intValue = 0;
+		pendingParameter = null;
+	}
+
+	int value() {
+		return intValue;
 	}
 
 	public static int getValue(ArgumentMarshaler am) {
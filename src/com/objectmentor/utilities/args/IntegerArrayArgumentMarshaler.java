@@ -0,0 +1,90 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.nio.IntBuffer;
+import java.util.*;
+
+// Repeated integers are converted as they arrive and kept in a growable int[], four bytes per value.
+public class IntegerArrayArgumentMarshaler implements ResettableArgumentMarshaler, ValueArgumentMarshaler {
+
+	private static final int[] NO_INTS = new int[0];
+	private static final int INITIAL_CAPACITY = 8;
+
+	private int[] ints = NO_INTS;
+	private int count;
+	private boolean viewShared;
+
+	@Override
+	public void set(Iterator<String> currentArgument) throws ArgsException {
+		String parameter;
+		try {
+			parameter = currentArgument.next();
+		} catch (NoSuchElementException e) {
+			throw new ArgsException(MISSING_INTEGER, '\0', null, false);
+		}
+		add(parameter);
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_INTEGER, '\0', null, false);
+		}
+		add(args[currentArgument]);
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) throws ArgsException {
+		add(value);
+	}
+
+	private void add(CharSequence parameter) throws ArgsException {
+		long value = NumberParser.parseInt(parameter);
+		if (value == NumberParser.NOT_AN_INTEGER) {
+			throw new ArgsException(INVALID_INTEGER, '\0', parameter.toString(), false);
+		}
+		if (count == ints.length) {
+			ints = Arrays.copyOf(ints, Math.max(INITIAL_CAPACITY, count * 2));
+		}
+		ints[count++] = (int) value;
+	}
+
+	// Views only cover the values added before they were created, so later additions can share the array. Only a
+	// reset has to move to a new one while a view still reads from it.
+	@Override
+	public void reset() {
+		if (viewShared) {
+			ints = NO_INTS;
+			viewShared = false;
+		}
+		count = 0;
+	}
+
+	int[] toArray() {
+		return Arrays.copyOf(ints, count);
+	}
+
+	IntBuffer getBuffer() {
+		viewShared = true;
+		return IntBuffer.wrap(ints, 0, count).slice().asReadOnlyBuffer();
+	}
+
+	public static int[] getValue(ArgumentMarshaler am) {
+		if (am != null && am instanceof IntegerArrayArgumentMarshaler) {
+			return ((IntegerArrayArgumentMarshaler) am).toArray();
+		} else {
+			return new int[0];
+		}
+	}
+
+	public static IntBuffer getBuffer(ArgumentMarshaler am) {
+		if (am != null && am instanceof IntegerArrayArgumentMarshaler) {
+			return ((IntegerArrayArgumentMarshaler) am).getBuffer();
+		} else {
+			return IntBuffer.wrap(NO_INTS).asReadOnlyBuffer();
+		}
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.objectmentor.utilities.args;
+
+interface LazyArgumentMarshaler extends ArgumentMarshaler {
+	void convert() throws ArgsException;
+}
\ No newline at end of file
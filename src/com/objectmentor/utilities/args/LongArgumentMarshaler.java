@@ -0,0 +1,32 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+public class LongArgumentMarshaler extends LongValueArgumentMarshaler {
+
+	public LongArgumentMarshaler() {
+		this(Conversion.EAGER);
+	}
+
+	LongArgumentMarshaler(Conversion conversion) {
+		super(conversion, MISSING_LONG);
+	}
+
+	@Override
+	long parse(CharSequence parameter) throws ArgsException {
+		long value = NumberParser.parseLong(parameter);
+		if (value == NumberParser.NOT_A_LONG && !NumberParser.isLong(parameter)) {
+			throw new ArgsException(INVALID_LONG, '\0', parameter.toString(), false);
+		}
+		return value;
+	}
+
+	public static long getValue(ArgumentMarshaler am) {
+		if (am != null && am instanceof LongArgumentMarshaler) {
+			return ((LongArgumentMarshaler) am).value();
+		} else {
+			return 0;
+		}
+	}
+
+}
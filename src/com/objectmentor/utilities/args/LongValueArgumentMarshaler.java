@@ -0,0 +1,75 @@
+package com.objectmentor.utilities.args;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.objectmentor.utilities.args.ArgsException.ErrorCode;
+
+// Shared by the marshalers whose value is a single long: plain longs, byte sizes and durations in nanoseconds.
+abstract class LongValueArgumentMarshaler implements LazyArgumentMarshaler, ResettableArgumentMarshaler,
+	ValueArgumentMarshaler {
+
+	private final boolean lazy;
+	private final ErrorCode missingErrorCode;
+	private long longValue = 0;
+	private String pendingParameter;
+
+	LongValueArgumentMarshaler(Conversion conversion, ErrorCode missingErrorCode) {
+		this.lazy = conversion == Conversion.LAZY;
+		this.missingErrorCode = missingErrorCode;
+	}
+
+	abstract long parse(CharSequence parameter) throws ArgsException;
+
+	@Override
+	public void set(Iterator<String> currentArgument) throws ArgsException {
+		String parameter;
+		try {
+			parameter = currentArgument.next();
+		} catch (NoSuchElementException e) {
+			throw new ArgsException(missingErrorCode, '\0', null, false);
+		}
+		setValue(parameter);
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(missingErrorCode, '\0', null, false);
+		}
+		setValue(args[currentArgument]);
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) throws ArgsException {
+		setValue(value);
+	}
+
+	private void setValue(CharSequence parameter) throws ArgsException {
+		if (lazy) {
+			pendingParameter = parameter.toString();
+		} else {
+			longValue = parse(parameter);
+		}
+	}
+
+	@Override
+	public void convert() throws ArgsException {
+		if (pendingParameter != null) {
+			longValue = parse(pendingParameter);
+			pendingParameter = null;
+		}
+	}
+
+	@Override
+	public void reset() {
+		longValue = 0;
+		pendingParameter = null;
+	}
+
+	long value() {
+		return longValue;
+	}
+
+}
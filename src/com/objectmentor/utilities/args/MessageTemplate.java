@@ -0,0 +1,72 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+
+// An error message split once into literal text and the placeholders {flag}, {argument} and {parameter}, so
+// rendering is a single StringBuilder pass instead of String.format.
+final class MessageTemplate {
+
+	private static final String[] PLACEHOLDERS = { "{flag}", "{argument}", "{parameter}" };
+	private static final int FLAG = 0;
+	private static final int ARGUMENT = 1;
+	private static final int PARAMETER = 2;
+
+	private final String[] literals;
+	private final int[] fields;
+	private final int literalLength;
+
+	MessageTemplate(String pattern) {
+		List<String> literals = new ArrayList<String>();
+		List<Integer> fields = new ArrayList<Integer>();
+		int start = 0;
+		int literalLength = 0;
+		for (int i = pattern.indexOf('{'); i >= 0; i = pattern.indexOf('{', i + 1)) {
+			for (int field = 0; field < PLACEHOLDERS.length; field++) {
+				if (pattern.startsWith(PLACEHOLDERS[field], i)) {
+					literals.add(pattern.substring(start, i));
+					literalLength += i - start;
+					fields.add(field);
+					start = i + PLACEHOLDERS[field].length();
+					break;
+				}
+			}
+		}
+		literals.add(pattern.substring(start));
+		this.literals = literals.toArray(new String[literals.size()]);
+		this.fields = new int[fields.size()];
+		for (int i = 0; i < this.fields.length; i++) {
+			this.fields[i] = fields.get(i);
+		}
+		this.literalLength = literalLength + pattern.length() - start;
+	}
+
+	String render(char argumentId, String argumentName, String parameter) {
+		if (fields.length == 0) {
+			return literals[0];
+		}
+		StringBuilder message = new StringBuilder(literalLength + 16);
+		for (int i = 0; i < fields.length; i++) {
+			message.append(literals[i]);
+			switch (fields[i]) {
+				case FLAG:
+					if (argumentName != null) {
+						message.append("--").append(argumentName);
+					} else {
+						message.append('-').append(argumentId);
+					}
+					break;
+				case ARGUMENT:
+					if (argumentName != null) {
+						message.append(argumentName);
+					} else {
+						message.append(argumentId);
+					}
+					break;
+				default:
+					message.append(parameter);
+			}
+		}
+		return message.append(literals[fields.length]).toString();
+	}
+
+}
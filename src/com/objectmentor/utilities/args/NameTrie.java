@@ -0,0 +1,108 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+
+// Maps long argument names to slots. Built once per schema and flattened into arrays: the children of a node are
+// the sorted labels between childOffsets[node] and childOffsets[node + 1]. Every node also records the one slot
+// reachable below it, so an unambiguous prefix resolves in the same walk as an exact name.
+final class NameTrie {
+
+	static final int NOT_FOUND = -1;
+	static final int AMBIGUOUS = -2;
+
+	private final int[] childOffsets;
+	private final char[] labels;
+	private final int[] children;
+	private final int[] exactSlots;
+	private final int[] prefixSlots;
+
+	private static final class Node {
+		final TreeMap<Character, Node> children = new TreeMap<Character, Node>();
+		int exactSlot = NOT_FOUND;
+		int prefixSlot = NOT_FOUND;
+	}
+
+	NameTrie(String[] names) {
+		Node root = new Node();
+		int nodeCount = 1;
+		for (int slot = 0; slot < names.length; slot++) {
+			if (names[slot] == null) {
+				continue;
+			}
+			Node node = root;
+			for (int i = 0; i < names[slot].length(); i++) {
+				Node child = node.children.get(names[slot].charAt(i));
+				if (child == null) {
+					child = new Node();
+					node.children.put(names[slot].charAt(i), child);
+					nodeCount++;
+				}
+				node = child;
+				node.prefixSlot = node.prefixSlot == NOT_FOUND || node.prefixSlot == slot ? slot : AMBIGUOUS;
+			}
+			node.exactSlot = slot;
+		}
+
+		childOffsets = new int[nodeCount + 1];
+		labels = new char[nodeCount - 1];
+		children = new int[nodeCount - 1];
+		exactSlots = new int[nodeCount];
+		prefixSlots = new int[nodeCount];
+		List<Node> queue = new ArrayList<Node>(nodeCount);
+		queue.add(root);
+		int edge = 0;
+		for (int index = 0; index < queue.size(); index++) {
+			Node node = queue.get(index);
+			exactSlots[index] = node.exactSlot;
+			prefixSlots[index] = node.prefixSlot;
+			childOffsets[index] = edge;
+			for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+				labels[edge] = child.getKey();
+				children[edge] = queue.size();
+				queue.add(child.getValue());
+				edge++;
+			}
+		}
+		childOffsets[nodeCount] = edge;
+	}
+
+	int exact(CharSequence name, int start, int end) {
+		int node = find(name, start, end);
+		return node < 0 ? NOT_FOUND : exactSlots[node];
+	}
+
+	// Returns the slot of an exact or uniquely abbreviated name, NOT_FOUND or AMBIGUOUS.
+	int resolve(CharSequence name, int start, int end) {
+		int node = find(name, start, end);
+		if (node <= 0) {
+			return NOT_FOUND;
+		}
+		return exactSlots[node] >= 0 ? exactSlots[node] : prefixSlots[node];
+	}
+
+	private int find(CharSequence name, int start, int end) {
+		int node = 0;
+		for (int i = start; i < end; i++) {
+			int low = childOffsets[node];
+			int high = childOffsets[node + 1] - 1;
+			char c = name.charAt(i);
+			node = -1;
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				if (labels[middle] < c) {
+					low = middle + 1;
+				} else if (labels[middle] > c) {
+					high = middle - 1;
+				} else {
+					node = children[middle];
+					break;
+				}
+			}
+			if (node < 0) {
+				return -1;
+			}
+		}
+		return node;
+	}
+
+}
@@ -0,0 +1,444 @@
+package com.objectmentor.utilities.args;
+
+final class NumberParser {
+
+	static final long NOT_AN_INTEGER = Long.MIN_VALUE;
+	static final long NOT_A_LONG = Long.MIN_VALUE;
+	static final long NOT_A_SIZE = -1;
+	static final long NOT_A_DURATION = -1;
+
+	private static final long NANOS_PER_SECOND = 1000000000L;
+
+	private static final int MAX_FAST_DIGITS = 15;
+	private static final int MAX_FAST_EXPONENT = 22;
+	private static final int MAX_TRACKED_EXPONENT = 100000;
+
+	private static final double[] POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private NumberParser() {}
+
+	// Same grammar as Integer.parseInt(s, 10), but signals failure by returning NOT_AN_INTEGER.
+	static long parseInt(CharSequence s) {
+		if (s == null) {
+			return NOT_AN_INTEGER;
+		}
+		return parseInt(s, 0, s.length());
+	}
+
+	static long parseInt(CharSequence s, int start, int end) {
+		if (start >= end) {
+			return NOT_AN_INTEGER;
+		}
+		int i = start;
+		boolean negative = false;
+		char first = s.charAt(i);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+			} else if (first != '+') {
+				return NOT_AN_INTEGER;
+			}
+			i++;
+			if (i == end) {
+				return NOT_AN_INTEGER;
+			}
+		}
+		long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long value = 0;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+			if (digit < 0) {
+				return NOT_AN_INTEGER;
+			}
+			value = value * 10 + digit;
+			if (value > limit) {
+				return NOT_AN_INTEGER;
+			}
+		}
+		return negative ? -value : value;
+	}
+
+	// Same grammar as Long.parseLong(s, 10). NOT_A_LONG is also a valid result, so callers confirm only that
+	// result with isLong.
+	static long parseLong(CharSequence s) {
+		return parseLong(s, NOT_A_LONG);
+	}
+
+	// A single pass over s unless the result is 0, which only a zero literal can produce legitimately.
+	static boolean isLong(CharSequence s) {
+		return parseLong(s, 0) != 0 || isZero(s);
+	}
+
+	private static boolean isZero(CharSequence s) {
+		int end = s == null ? 0 : s.length();
+		int i = end > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+') ? 1 : 0;
+		if (i == end) {
+			return false;
+		}
+		for (; i < end; i++) {
+			if (Character.digit(s.charAt(i), 10) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Accumulates negatively, like Long.parseLong, so that Long.MIN_VALUE does not overflow.
+	private static long parseLong(CharSequence s, long failure) {
+		int end = s == null ? 0 : s.length();
+		if (end == 0) {
+			return failure;
+		}
+		int i = 0;
+		boolean negative = false;
+		char first = s.charAt(0);
+		if (first < '0') {
+			if (first == '-') {
+				negative = true;
+			} else if (first != '+') {
+				return failure;
+			}
+			i++;
+			if (i == end) {
+				return failure;
+			}
+		}
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multiplyLimit = limit / 10;
+		long value = 0;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+			if (digit < 0 || value < multiplyLimit) {
+				return failure;
+			}
+			value *= 10;
+			if (value < limit + digit) {
+				return failure;
+			}
+			value -= digit;
+		}
+		return negative ? value : -value;
+	}
+
+	// A byte count: decimal digits, optionally followed by a binary unit k, m, g, t or p and then by b or ib, all
+	// case insensitive, for example 512, 64k, 2GB or 1TiB. Returns NOT_A_SIZE if the input is malformed or too large.
+	static long parseSize(CharSequence s) {
+		int end = s == null ? 0 : s.length();
+		int i = 0;
+		long value = 0;
+		for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+			int digit = s.charAt(i) - '0';
+			if (value > (Long.MAX_VALUE - digit) / 10) {
+				return NOT_A_SIZE;
+			}
+			value = value * 10 + digit;
+		}
+		if (i == 0) {
+			return NOT_A_SIZE;
+		}
+		int shift = 0;
+		if (i < end) {
+			shift = unitShift(s.charAt(i));
+			if (shift > 0) {
+				i++;
+				if (i + 1 < end && (s.charAt(i) == 'i' || s.charAt(i) == 'I')) {
+					i++;
+				}
+			}
+			if (i < end && (s.charAt(i) == 'b' || s.charAt(i) == 'B')) {
+				i++;
+			}
+		}
+		if (i != end || value > Long.MAX_VALUE >> shift) {
+			return NOT_A_SIZE;
+		}
+		return value << shift;
+	}
+
+	private static int unitShift(char unit) {
+		switch (unit) {
+			case 'k':
+			case 'K':
+				return 10;
+			case 'm':
+			case 'M':
+				return 20;
+			case 'g':
+			case 'G':
+				return 30;
+			case 't':
+			case 'T':
+				return 40;
+			case 'p':
+			case 'P':
+				return 50;
+			default:
+				return 0;
+		}
+	}
+
+	// A duration in nanoseconds: one or more decimal numbers, each followed by a unit ns, us, ms, s, m, h or d, for
+	// example 250ms, 90s or 1h30m. Units appear at most once and from largest to smallest, so 1s1s and 1m1h are
+	// malformed. A bare 0 is accepted too. Returns NOT_A_DURATION if the input is malformed or does not fit into a
+	// long.
+	static long parseDuration(CharSequence s) {
+		int end = s == null ? 0 : s.length();
+		if (end == 1 && s.charAt(0) == '0') {
+			return 0;
+		}
+		if (end == 0) {
+			return NOT_A_DURATION;
+		}
+		long total = 0;
+		long previousUnit = Long.MAX_VALUE;
+		int i = 0;
+		while (i < end) {
+			long value = 0;
+			int digitsStart = i;
+			for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+				int digit = s.charAt(i) - '0';
+				if (value > (Long.MAX_VALUE - digit) / 10) {
+					return NOT_A_DURATION;
+				}
+				value = value * 10 + digit;
+			}
+			if (i == digitsStart || i == end) {
+				return NOT_A_DURATION;
+			}
+			char unit = s.charAt(i++);
+			boolean secondsFollow = i < end && s.charAt(i) == 's';
+			long nanos;
+			if (unit == 'n' && secondsFollow) {
+				nanos = 1;
+				i++;
+			} else if ((unit == 'u' || unit == '\u00b5') && secondsFollow) {
+				nanos = 1000L;
+				i++;
+			} else if (unit == 'm' && secondsFollow) {
+				nanos = 1000000L;
+				i++;
+			} else if (unit == 's') {
+				nanos = NANOS_PER_SECOND;
+			} else if (unit == 'm') {
+				nanos = 60 * NANOS_PER_SECOND;
+			} else if (unit == 'h') {
+				nanos = 60 * 60 * NANOS_PER_SECOND;
+			} else if (unit == 'd') {
+				nanos = 24 * 60 * 60 * NANOS_PER_SECOND;
+			} else {
+				return NOT_A_DURATION;
+			}
+			if (nanos >= previousUnit) {
+				return NOT_A_DURATION;
+			}
+			previousUnit = nanos;
+			if (value > (Long.MAX_VALUE - total) / nanos) {
+				return NOT_A_DURATION;
+			}
+			total += value * nanos;
+		}
+		return total;
+	}
+
+	// Same grammar as Double.parseDouble: trimmed input, optional sign, NaN, Infinity, decimal and hexadecimal
+	// floating point literals with an optional type suffix.
+	static boolean isDouble(CharSequence s) {
+		if (s == null) {
+			return false;
+		}
+		int end = trimEnd(s);
+		int i = trimStart(s, end);
+		if (i == end) {
+			return false;
+		}
+		char c = s.charAt(i);
+		if (c == '+' || c == '-') {
+			i++;
+			if (i == end) {
+				return false;
+			}
+			c = s.charAt(i);
+		}
+		if (c == 'N') {
+			return matches(s, i, end, "NaN");
+		}
+		if (c == 'I') {
+			return matches(s, i, end, "Infinity");
+		}
+		if (c == '0' && i + 1 < end && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+			return isHexDouble(s, i + 2, end);
+		}
+		return isDecimalDouble(s, i, end);
+	}
+
+	private static boolean isDecimalDouble(CharSequence s, int i, int end) {
+		int digits = 0;
+		boolean pointSeen = false;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				digits++;
+			} else if (c == '.' && !pointSeen) {
+				pointSeen = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0) {
+			return false;
+		}
+		if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i = skipSignedDigits(s, i + 1, end);
+			if (i < 0) {
+				return false;
+			}
+		}
+		return isEndOrSuffix(s, i, end);
+	}
+
+	private static boolean isHexDouble(CharSequence s, int i, int end) {
+		int digits = 0;
+		boolean pointSeen = false;
+		for (; i < end; i++) {
+			char c = s.charAt(i);
+			if (isHexDigit(c)) {
+				digits++;
+			} else if (c == '.' && !pointSeen) {
+				pointSeen = true;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0 || i == end || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) {
+			return false;
+		}
+		i = skipSignedDigits(s, i + 1, end);
+		return i >= 0 && isEndOrSuffix(s, i, end);
+	}
+
+	private static boolean isHexDigit(char c) {
+		return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+	}
+
+	private static int skipSignedDigits(CharSequence s, int i, int end) {
+		if (i < end && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+			i++;
+		}
+		int digitsStart = i;
+		while (i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+			i++;
+		}
+		return i == digitsStart ? -1 : i;
+	}
+
+	private static boolean isEndOrSuffix(CharSequence s, int i, int end) {
+		if (i == end) {
+			return true;
+		}
+		return i == end - 1 && isTypeSuffix(s.charAt(i));
+	}
+
+	private static boolean matches(CharSequence s, int i, int end, String word) {
+		if (end - i != word.length()) {
+			return false;
+		}
+		for (int j = 0; j < word.length(); j++) {
+			if (s.charAt(i + j) != word.charAt(j)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Expects input accepted by isDouble. Short decimal literals are converted exactly with a single
+	// floating point operation; everything else is handed to the JDK, which can no longer fail.
+	static double parseDouble(CharSequence s) {
+		int end = trimEnd(s);
+		int i = trimStart(s, end);
+		boolean negative = false;
+		char c = s.charAt(i);
+		if (c == '+' || c == '-') {
+			negative = c == '-';
+			i++;
+		}
+		long mantissa = 0;
+		int significantDigits = 0;
+		int fractionDigits = 0;
+		boolean pointSeen = false;
+		for (; i < end; i++) {
+			c = s.charAt(i);
+			if (c >= '0' && c <= '9') {
+				if (mantissa != 0 || c != '0') {
+					if (++significantDigits > MAX_FAST_DIGITS) {
+						return Double.parseDouble(s.toString());
+					}
+					mantissa = mantissa * 10 + (c - '0');
+				}
+				if (pointSeen) {
+					fractionDigits++;
+				}
+			} else if (c == '.') {
+				pointSeen = true;
+			} else {
+				break;
+			}
+		}
+		int exponent = 0;
+		if (i < end && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+			i++;
+			boolean negativeExponent = false;
+			if (s.charAt(i) == '+' || s.charAt(i) == '-') {
+				negativeExponent = s.charAt(i) == '-';
+				i++;
+			}
+			for (; i < end && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+				if (exponent < MAX_TRACKED_EXPONENT) {
+					exponent = exponent * 10 + (s.charAt(i) - '0');
+				}
+			}
+			if (negativeExponent) {
+				exponent = -exponent;
+			}
+		} else if (i < end && !isTypeSuffix(s.charAt(i))) {
+			return Double.parseDouble(s.toString());
+		}
+		exponent -= fractionDigits;
+		double value;
+		if (mantissa == 0) {
+			value = 0.0;
+		} else if (exponent >= 0 && exponent <= MAX_FAST_EXPONENT) {
+			value = mantissa * POWERS_OF_TEN[exponent];
+		} else if (exponent < 0 && exponent >= -MAX_FAST_EXPONENT) {
+			value = mantissa / POWERS_OF_TEN[-exponent];
+		} else {
+			return Double.parseDouble(s.toString());
+		}
+		return negative ? -value : value;
+	}
+
+	private static boolean isTypeSuffix(char c) {
+		return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+	}
+
+	private static int trimEnd(CharSequence s) {
+		int end = s.length();
+		while (end > 0 && s.charAt(end - 1) <= ' ') {
+			end--;
+		}
+		return end;
+	}
+
+	private static int trimStart(CharSequence s, int end) {
+		int start = 0;
+		while (start < end && s.charAt(start) <= ' ') {
+			start++;
+		}
+		return start;
+	}
+
+}
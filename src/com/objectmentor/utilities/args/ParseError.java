@@ -0,0 +1,70 @@
+package com.objectmentor.utilities.args;
+
+import com.objectmentor.utilities.args.ArgsException.ErrorCode;
+
+public final class ParseError {
+
+	private final ErrorCode errorCode;
+	private final char errorArgumentId;
+	private final String errorArgumentName;
+	private final String errorParameter;
+	private String message;
+
+	public ParseError(ErrorCode errorCode, char errorArgumentId, String errorParameter) {
+		this(errorCode, errorArgumentId, null, errorParameter);
+	}
+
+	public ParseError(ErrorCode errorCode, String errorArgumentName, String errorParameter) {
+		this(errorCode, '\0', errorArgumentName, errorParameter);
+	}
+
+	private ParseError(ErrorCode errorCode, char errorArgumentId, String errorArgumentName, String errorParameter) {
+		this.errorCode = errorCode;
+		this.errorArgumentId = errorArgumentId;
+		this.errorArgumentName = errorArgumentName;
+		this.errorParameter = errorParameter;
+	}
+
+	ParseError(ArgsException e) {
+		this(e.getErrorCode(), e.getErrorArgumentId(), e.getErrorArgumentName(), e.getErrorParameter());
+	}
+
+	public ErrorCode getErrorCode() {
+		return errorCode;
+	}
+
+	public char getErrorArgumentId() {
+		return errorArgumentId;
+	}
+
+	public String getErrorArgumentName() {
+		return errorArgumentName;
+	}
+
+	public String getErrorParameter() {
+		return errorParameter;
+	}
+
+	public String getMessage() {
+		if (message == null) {
+			message = ArgsException.getMessage(errorCode, errorArgumentId, errorArgumentName, errorParameter);
+		}
+		return message;
+	}
+
+	public ArgsException toException() {
+		return toException(true);
+	}
+
+	ArgsException toException(boolean writableStackTrace) {
+		ArgsException e = new ArgsException(errorCode, errorArgumentId, errorParameter, writableStackTrace);
+		e.setErrorArgumentName(errorArgumentName);
+		return e;
+	}
+
+	@Override
+	public String toString() {
+		return getMessage();
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.objectmentor.utilities.args;
+
+import jdk.jfr.*;
+
+@Name("com.objectmentor.utilities.args.ParseError")
+@Label("Argument Parse Error")
+@Category("Args")
+final class ParseErrorEvent extends Event {
+
+	@Label("Error Code")
+	String errorCode;
+
+	@Label("Argument")
+	String argument;
+
+	@Label("Parameter")
+	String parameter;
+
+}
@@ -0,0 +1,20 @@
+package com.objectmentor.utilities.args;
+
+import jdk.jfr.*;
+
+@Name("com.objectmentor.utilities.args.Parse")
+@Label("Argument Parse")
+@Category("Args")
+@StackTrace(false)
+final class ParseEvent extends Event {
+
+	@Label("Arguments")
+	int argumentCount;
+
+	@Label("Success")
+	boolean success;
+
+	@Label("Error Code")
+	String errorCode;
+
+}
@@ -0,0 +1,95 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import com.objectmentor.utilities.args.ArgsException.ErrorCode;
+
+// Counters shared by every parse against one schema with ParseOption.INSTRUMENTATION. Latencies are kept in
+// power-of-two buckets: bucket i counts parses that took less than 2^i nanoseconds but at least 2^(i-1).
+public final class ParseMetrics {
+
+	static final int LATENCY_BUCKETS = 64;
+
+	private final Schema schema;
+	private final LongAdder parses = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final AtomicLongArray failuresByCode = new AtomicLongArray(ErrorCode.values().length);
+	private final AtomicLongArray usage;
+	private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS);
+
+	ParseMetrics(Schema schema) {
+		this.schema = schema;
+		this.usage = new AtomicLongArray(schema.size());
+	}
+
+	void recordSuccess(BitSet argsFound, long nanos) {
+		parses.increment();
+		for (int slot = argsFound.nextSetBit(0); slot >= 0; slot = argsFound.nextSetBit(slot + 1)) {
+			usage.incrementAndGet(slot);
+		}
+		latencies.incrementAndGet(bucketOf(nanos));
+	}
+
+	// A parse that collected several errors counts once as a failure and once under each error's code.
+	void recordFailure(List<ParseError> errors, long nanos) {
+		parses.increment();
+		failures.increment();
+		for (ParseError error : errors) {
+			failuresByCode.incrementAndGet(error.getErrorCode().ordinal());
+		}
+		latencies.incrementAndGet(bucketOf(nanos));
+	}
+
+	private static int bucketOf(long nanos) {
+		return nanos <= 0 ? 0 : Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+	}
+
+	public long getParseCount() {
+		return parses.sum();
+	}
+
+	public long getFailureCount() {
+		return failures.sum();
+	}
+
+	public long getFailureCount(ErrorCode errorCode) {
+		return failuresByCode.get(errorCode.ordinal());
+	}
+
+	// Counts successful parses in which the argument appeared on the command line.
+	public long getUsageCount(char arg) throws ArgsException {
+		return usage.get(schema.validateSlot(arg));
+	}
+
+	public long getUsageCount(String name) throws ArgsException {
+		return usage.get(schema.validateSlot(name));
+	}
+
+	public long[] getLatencyHistogram() {
+		long[] histogram = new long[LATENCY_BUCKETS];
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			histogram[i] = latencies.get(i);
+		}
+		return histogram;
+	}
+
+	// Returns an upper bound in nanoseconds for the given fraction of parses, e.g. 0.99, or 0 before any parse.
+	public long getLatencyPercentile(double fraction) {
+		long[] histogram = getLatencyHistogram();
+		long total = 0;
+		for (long count : histogram) {
+			total += count;
+		}
+		long rank = (long) Math.ceil(fraction * total);
+		long seen = 0;
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			seen += histogram[i];
+			if (seen >= rank && seen > 0) {
+				return i == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : 1L << i;
+			}
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.objectmentor.utilities.args;
+
+public enum ParseOption {
+	EXPAND_ARGUMENT_FILES, LAZY_CONVERSION, STRICT_VALIDATION, INSTRUMENTATION, COLLECT_ERRORS
+}
\ No newline at end of file
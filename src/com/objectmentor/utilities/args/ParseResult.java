@@ -0,0 +1,40 @@
+package com.objectmentor.utilities.args;
+
+import java.util.*;
+
+public final class ParseResult {
+
+	private final Args args;
+	private final List<ParseError> errors;
+
+	ParseResult(Args args) {
+		this.args = args;
+		this.errors = Collections.emptyList();
+	}
+
+	ParseResult(ParseError error) {
+		this.args = null;
+		this.errors = Collections.singletonList(error);
+	}
+
+	ParseResult(List<ParseError> errors) {
+		this.args = null;
+		this.errors = Collections.unmodifiableList(errors);
+	}
+
+	public boolean isSuccess() {
+		return errors.isEmpty();
+	}
+
+	public Args getArgs() {
+		if (!isSuccess()) {
+			throw new IllegalStateException("Parsing failed: " + errors.get(0).getMessage());
+		}
+		return args;
+	}
+
+	public List<ParseError> getErrors() {
+		return errors;
+	}
+
+}
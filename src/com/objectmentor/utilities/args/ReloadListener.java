@@ -0,0 +1,9 @@
+package com.objectmentor.utilities.args;
+
+public interface ReloadListener {
+
+	void reloaded(ArgsSnapshot snapshot);
+
+	void reloadFailed(ArgsException e);
+
+}
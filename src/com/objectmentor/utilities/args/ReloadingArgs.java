@@ -0,0 +1,167 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Options read from an argument file that is watched for changes. Every change is parsed on the watcher thread
+// into a new ArgsSnapshot that replaces the current one in a single atomic step, so readers never lock and never
+// see a partly applied file. A file that fails to parse keeps the previous snapshot.
+public final class ReloadingArgs implements Closeable {
+
+	// Editors often save in several writes; waiting until the directory is quiet avoids parsing a half-written file.
+	private static final long SETTLE_MILLIS = 50;
+
+	private final Schema schema;
+	private final Path file;
+	private final ReloadListener listener;
+	private final AtomicReference<ArgsSnapshot> current;
+	private volatile ParseError lastError;
+	private volatile Thread.UncaughtExceptionHandler exceptionHandler;
+	private WatchService watchService;
+
+	public ReloadingArgs(Schema schema, Path file) throws ArgsException {
+		this(schema, file, null);
+	}
+
+	public ReloadingArgs(Schema schema, Path file, ReloadListener listener) throws ArgsException {
+		this.schema = schema;
+		this.file = file.toAbsolutePath();
+		this.listener = listener;
+		try {
+			this.current = new AtomicReference<ArgsSnapshot>(load());
+		} catch (ArgsException e) {
+			throw e.withStackTrace();
+		}
+	}
+
+	public Schema getSchema() {
+		return schema;
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	public ArgsSnapshot current() {
+		return current.get();
+	}
+
+	// Returns the error of the last reload, or null if it succeeded.
+	public ParseError getLastError() {
+		return lastError;
+	}
+
+	// Receives what the listener throws on the watcher thread. Without a handler it goes to the thread's default
+	// handler.
+	public void setUncaughtExceptionHandler(Thread.UncaughtExceptionHandler handler) {
+		exceptionHandler = handler;
+	}
+
+	// Re-reads the file now. Returns false and keeps the current snapshot if the file cannot be read or parsed.
+	public synchronized boolean reload() {
+		ArgsSnapshot snapshot;
+		try {
+			snapshot = load();
+		} catch (ArgsException e) {
+			lastError = new ParseError(e);
+			if (listener != null) {
+				listener.reloadFailed(e.withStackTrace());
+			}
+			return false;
+		}
+		current.set(snapshot);
+		lastError = null;
+		if (listener != null) {
+			listener.reloaded(snapshot);
+		}
+		return true;
+	}
+
+	private ArgsSnapshot load() throws ArgsException {
+		List<String> tokens = new ArrayList<String>();
+		try {
+			ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(file));
+			ArgumentFileTokenizer tokenizer = new ArgumentFileTokenizer(file, contents);
+			for (String token = tokenizer.nextToken(); token != null; token = tokenizer.nextToken()) {
+				tokens.add(token);
+			}
+		} catch (IOException e) {
+			throw new ArgsException(INVALID_ARGUMENT_FILE, '\0', file.toString(), e);
+		}
+		Args args = new Args(schema);
+		args.parseArguments(tokens.toArray(new String[tokens.size()]));
+		return args.snapshot();
+	}
+
+	// Starts watching the file's directory on a daemon thread.
+	public synchronized void start() throws IOException {
+		if (watchService != null) {
+			throw new IllegalStateException("Already watching " + file + ".");
+		}
+		final WatchService watchService = file.getFileSystem().newWatchService();
+		try {
+			file.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+		this.watchService = watchService;
+		Thread watcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watch(watchService);
+			}
+		}, "args-reload-" + file.getFileName());
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	private void watch(WatchService watchService) {
+		Path name = file.getFileName();
+		try {
+			while (true) {
+				WatchKey key = watchService.take();
+				boolean changed = false;
+				while (key != null) {
+					for (WatchEvent<?> event : key.pollEvents()) {
+						changed |= event.kind() == OVERFLOW || name.equals(event.context());
+					}
+					if (!key.reset()) {
+						return;
+					}
+					key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+				}
+				if (changed) {
+					try {
+						reload();
+					} catch (RuntimeException e) {
+						// A failing listener must not end the watcher, or every later change would go unnoticed.
+						Thread thread = Thread.currentThread();
+						Thread.UncaughtExceptionHandler handler = exceptionHandler;
+						(handler != null ? handler : thread.getUncaughtExceptionHandler()).uncaughtException(thread, e);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			return;
+		} catch (ClosedWatchServiceException e) {
+			return;
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (watchService != null) {
+			watchService.close();
+			watchService = null;
+		}
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.objectmentor.utilities.args;
+
+interface ResettableArgumentMarshaler extends ArgumentMarshaler {
+	void reset();
+}
@@ -0,0 +1,316 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.util.*;
+
+import com.objectmentor.utilities.args.ArgsException.ErrorCode;
+
+public final class Schema {
+
+	private static final int ASCII_SIZE = 128;
+
+	private final Set<Character> argumentIds;
+	private final Set<String> argumentNames;
+	private final char[] ids;
+	private final String[] names;
+	private final ArgumentType[] types;
+	private final boolean[] lazySlots;
+	private final int[] asciiSlots;
+	private final Map<Character, Integer> otherSlots;
+	private final NameTrie nameTrie;
+	private final Set<ParseOption> options;
+	private final Conversion conversion;
+	private final ParseMetrics metrics;
+
+	public Schema(String schema) throws ArgsException {
+		this(schema, new ParseOption[0]);
+	}
+
+	public Schema(String schema, ParseOption... options) throws ArgsException {
+		Map<Character, ArgumentType> types = new LinkedHashMap<Character, ArgumentType>();
+		Map<String, ArgumentType> namedTypes = new LinkedHashMap<String, ArgumentType>();
+		parseSchema(schema, types, namedTypes);
+
+		int size = types.size() + namedTypes.size();
+		this.argumentIds = Collections.unmodifiableSet(types.keySet());
+		this.argumentNames = Collections.unmodifiableSet(namedTypes.keySet());
+		this.ids = new char[size];
+		this.names = new String[size];
+		this.types = new ArgumentType[size];
+		this.lazySlots = new boolean[size];
+		this.asciiSlots = new int[ASCII_SIZE];
+		this.otherSlots = new HashMap<Character, Integer>();
+		this.options = EnumSet.noneOf(ParseOption.class);
+		this.options.addAll(Arrays.asList(options));
+		this.conversion = !hasOption(ParseOption.LAZY_CONVERSION) ? Conversion.EAGER
+			: hasOption(ParseOption.STRICT_VALIDATION) ? Conversion.VALIDATED_LAZY : Conversion.LAZY;
+
+		Arrays.fill(asciiSlots, -1);
+		int slot = 0;
+		for (Map.Entry<Character, ArgumentType> entry : types.entrySet()) {
+			char id = entry.getKey();
+			this.ids[slot] = id;
+			this.types[slot] = entry.getValue();
+			if (id < ASCII_SIZE) {
+				asciiSlots[id] = slot;
+			} else {
+				otherSlots.put(id, slot);
+			}
+			slot++;
+		}
+		for (Map.Entry<String, ArgumentType> entry : namedTypes.entrySet()) {
+			this.names[slot] = entry.getKey();
+			this.types[slot] = entry.getValue();
+			slot++;
+		}
+		for (slot = 0; slot < size; slot++) {
+			lazySlots[slot] = conversion != Conversion.EAGER && this.types[slot].defersConversion();
+		}
+		this.nameTrie = new NameTrie(names);
+		this.metrics = hasOption(ParseOption.INSTRUMENTATION) ? new ParseMetrics(this) : null;
+	}
+
+	private static void parseSchema(String schema, Map<Character, ArgumentType> types,
+		Map<String, ArgumentType> namedTypes) throws ArgsException {
+		for (String element : schema.split(",")) {
+			element = element.trim();
+			if (element.length() > 0) {
+				parseSchemaElement(element, types, namedTypes);
+			}
+		}
+	}
+
+	// An element starts with its id: a single character, or a long name of letters, digits and '-' that starts
+	// with a letter. The rest of the element is the type.
+	private static void parseSchemaElement(String element, Map<Character, ArgumentType> types,
+		Map<String, ArgumentType> namedTypes) throws ArgsException {
+		char elementId = element.charAt(0);
+		validateSchemaElementId(elementId);
+		int nameLength = 1;
+		while (nameLength < element.length() && isNameCharacter(element.charAt(nameLength))) {
+			nameLength++;
+		}
+		String elementTail = element.substring(nameLength);
+		ArgumentType type = parseSchemaElementTail(elementTail);
+		if (type == null) {
+			ArgsException e = new ArgsException(INVALID_ARGUMENT_FORMAT, elementId, elementTail);
+			e.setErrorArgumentName(nameLength > 1 ? element.substring(0, nameLength) : null);
+			throw e;
+		}
+		if (nameLength == 1) {
+			types.put(elementId, type);
+		} else {
+			namedTypes.put(element.substring(0, nameLength), type);
+		}
+	}
+
+	private static boolean isNameCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '-';
+	}
+
+	private static ArgumentType parseSchemaElementTail(String elementTail) {
+		if (elementTail.length() == 0) {
+			return ArgumentType.BOOLEAN;
+		} else if (elementTail.equals("*")) {
+			return ArgumentType.STRING;
+		} else if (elementTail.equals("#")) {
+			return ArgumentType.INTEGER;
+		} else if (elementTail.equals("##")) {
+			return ArgumentType.DOUBLE;
+		} else if (elementTail.equals("[*]")) {
+			return ArgumentType.STRING_ARRAY;
+		} else if (elementTail.equals("[#]")) {
+			return ArgumentType.INTEGER_ARRAY;
+		} else if (elementTail.equals("[##]")) {
+			return ArgumentType.DOUBLE_ARRAY;
+		} else if (elementTail.equals("#L")) {
+			return ArgumentType.LONG;
+		} else if (elementTail.equals("#B")) {
+			return ArgumentType.SIZE;
+		} else if (elementTail.equals("#T")) {
+			return ArgumentType.DURATION;
+		} else {
+			return null;
+		}
+	}
+
+	private static void validateSchemaElementId(char elementId) throws ArgsException {
+		if (!Character.isLetter(elementId)) {
+			throw new ArgsException(INVALID_ARGUMENT_NAME, elementId);
+		}
+	}
+
+	public Args parse(String[] args) throws ArgsException {
+		return new Args(this, args);
+	}
+
+	public Args parse(String[] args, Fallbacks fallbacks) throws ArgsException {
+		return new Args(this, args, fallbacks);
+	}
+
+	public Args parse(CommandLine commandLine) throws ArgsException {
+		return new Args(this, commandLine);
+	}
+
+	public ParseResult tryParse(String[] args) {
+		Args result = new Args(this);
+		try {
+			result.parseArguments(args);
+			return new ParseResult(result);
+		} catch (ArgsException e) {
+			return failure(result, e);
+		}
+	}
+
+	public ParseResult tryParse(CommandLine commandLine) {
+		Args result = new Args(this);
+		try {
+			result.parseArguments(commandLine);
+			return new ParseResult(result);
+		} catch (ArgsException e) {
+			return failure(result, e);
+		}
+	}
+
+	private static ParseResult failure(Args result, ArgsException e) {
+		List<ParseError> errors = result.collectedErrors();
+		return errors.isEmpty() ? new ParseResult(new ParseError(e)) : new ParseResult(errors);
+	}
+
+	public boolean hasOption(ParseOption option) {
+		return options.contains(option);
+	}
+
+	// Returns null unless the schema was created with ParseOption.INSTRUMENTATION.
+	public ParseMetrics getMetrics() {
+		return metrics;
+	}
+
+	public boolean contains(char arg) {
+		return slotOf(arg) >= 0;
+	}
+
+	public boolean contains(String name) {
+		return slotOf(name) >= 0;
+	}
+
+	public Set<Character> argumentIds() {
+		return argumentIds;
+	}
+
+	public Set<String> argumentNames() {
+		return argumentNames;
+	}
+
+	public BooleanHandle booleanHandle(char arg) throws ArgsException {
+		return new BooleanHandle(this, validateSlot(arg));
+	}
+
+	public BooleanHandle booleanHandle(String name) throws ArgsException {
+		return new BooleanHandle(this, validateSlot(name));
+	}
+
+	public StringHandle stringHandle(char arg) throws ArgsException {
+		return new StringHandle(this, validateSlot(arg));
+	}
+
+	public StringHandle stringHandle(String name) throws ArgsException {
+		return new StringHandle(this, validateSlot(name));
+	}
+
+	public IntHandle intHandle(char arg) throws ArgsException {
+		return new IntHandle(this, validateSlot(arg));
+	}
+
+	public IntHandle intHandle(String name) throws ArgsException {
+		return new IntHandle(this, validateSlot(name));
+	}
+
+	public DoubleHandle doubleHandle(char arg) throws ArgsException {
+		return new DoubleHandle(this, validateSlot(arg));
+	}
+
+	public DoubleHandle doubleHandle(String name) throws ArgsException {
+		return new DoubleHandle(this, validateSlot(name));
+	}
+
+	public StringArrayHandle stringArrayHandle(char arg) throws ArgsException {
+		return new StringArrayHandle(this, validateSlot(arg));
+	}
+
+	public StringArrayHandle stringArrayHandle(String name) throws ArgsException {
+		return new StringArrayHandle(this, validateSlot(name));
+	}
+
+	int size() {
+		return ids.length;
+	}
+
+	int slotOf(char arg) {
+		if (arg < ASCII_SIZE) {
+			return asciiSlots[arg];
+		}
+		Integer slot = otherSlots.get(arg);
+		return slot == null ? -1 : slot;
+	}
+
+	int slotOf(String name) {
+		return nameTrie.exact(name, 0, name.length());
+	}
+
+	// Resolves the long name in arg between start and end, accepting unambiguous abbreviations.
+	int resolveName(CharSequence arg, int start, int end) {
+		return nameTrie.resolve(arg, start, end);
+	}
+
+	char idOf(int slot) {
+		return ids[slot];
+	}
+
+	String nameOf(int slot) {
+		return names[slot];
+	}
+
+	ArgsException argumentException(ErrorCode errorCode, int slot) {
+		ArgsException e = new ArgsException(errorCode, ids[slot]);
+		e.setErrorArgumentName(names[slot]);
+		return e;
+	}
+
+	int validateSlot(char arg) throws ArgsException {
+		int slot = slotOf(arg);
+		if (slot < 0) {
+			throw new ArgsException(UNKNOWN_ARGUMENT_NAME, arg);
+		}
+		return slot;
+	}
+
+	int validateSlot(String name) throws ArgsException {
+		int slot = slotOf(name);
+		if (slot < 0) {
+			ArgsException e = new ArgsException(UNKNOWN_ARGUMENT_NAME);
+			e.setErrorArgumentName(name);
+			throw e;
+		}
+		return slot;
+	}
+
+	ArgumentType typeOf(int slot) {
+		return types[slot];
+	}
+
+	// Whether the marshaler at slot may hold a value that is converted on first read.
+	boolean isLazy(int slot) {
+		return lazySlots[slot];
+	}
+
+	ArgumentMarshaler[] createMarshalers() {
+		ArgumentMarshaler[] marshalers = new ArgumentMarshaler[types.length];
+		for (int slot = 0; slot < types.length; slot++) {
+			marshalers[slot] = types[slot].newMarshaler(conversion);
+		}
+		return marshalers;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+public class SizeArgumentMarshaler extends LongValueArgumentMarshaler {
+
+	public SizeArgumentMarshaler() {
+		this(Conversion.EAGER);
+	}
+
+	SizeArgumentMarshaler(Conversion conversion) {
+		super(conversion, MISSING_SIZE);
+	}
+
+	@Override
+	long parse(CharSequence parameter) throws ArgsException {
+		long value = NumberParser.parseSize(parameter);
+		if (value == NumberParser.NOT_A_SIZE) {
+			throw new ArgsException(INVALID_SIZE, '\0', parameter.toString(), false);
+		}
+		return value;
+	}
+
+	public static long getValue(ArgumentMarshaler am) {
+		if (am != null && am instanceof SizeArgumentMarshaler) {
+			return ((SizeArgumentMarshaler) am).value();
+		} else {
+			return 0;
+		}
+	}
+
+}
@@ -5,7 +5,7 @@ import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class StringArgumentMarshaler implements ArgumentMarshaler {
+public class StringArgumentMarshaler implements ResettableArgumentMarshaler, ValueArgumentMarshaler {
 
 	private String stringValue = "";
 
@@ -14,10 +14,33 @@ public class StringArgumentMarshaler implements ArgumentMarshaler {
 		try {
 			stringValue = currentArgument.next();
 		} catch (NoSuchElementException e) {
-			throw new ArgsException(MISSING_STRING);
+			throw new ArgsException(MISSING_STRING, '\0', null, false);
 		}
 	}
 
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_STRING, '\0', null, false);
+		}
+		stringValue = args[currentArgument];
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) {
+		stringValue = value.toString();
+	}
+
+	@Override
+	public void reset() {
+		stringValue = "";
+	}
+
+	String value() {
+		return stringValue;
+	}
+
 	public static String getValue(ArgumentMarshaler am) {
 		if (am != null && am instanceof StringArgumentMarshaler) {
 			return ((StringArgumentMarshaler) am).stringValue;
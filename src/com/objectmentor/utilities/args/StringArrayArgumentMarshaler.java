@@ -4,25 +4,181 @@ import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 
 import java.util.*;
 
-public class StringArrayArgumentMarshaler implements ArgumentMarshaler {
+public class StringArrayArgumentMarshaler implements ResettableArgumentMarshaler, ValueArgumentMarshaler {
 
-	private List<String> strings = new ArrayList<String>();
+	private static final String[] NO_STRINGS = new String[0];
+	private static final int INITIAL_CAPACITY = 8;
+
+	// Values that came from a single argv array are kept as positions in that array. The positions are
+	// stored as first index and stride while they form an arithmetic progression (as in "-f a -f b -f c")
+	// and only spill into an int[] once they do not.
+	private String[] source;
+	private int firstIndex;
+	private int indexStride;
+	private int[] indexes;
+	private String[] strings = NO_STRINGS;
+	private int count;
+	private List<String> view;
+	private boolean viewShared;
 
 	@Override
 	public void set(Iterator<String> currentArgument) throws ArgsException {
 		try {
-			strings.add(currentArgument.next());
+			addString(currentArgument.next());
 		} catch (NoSuchElementException e) {
-			throw new ArgsException(MISSING_STRING);
+			throw new ArgsException(MISSING_STRING, '\0', null, false);
+		}
+	}
+
+	@Override
+	public int set(String[] args, int currentArgument) throws ArgsException {
+		if (currentArgument >= args.length) {
+			throw new ArgsException(MISSING_STRING, '\0', null, false);
+		}
+		if (source == null && count == 0) {
+			source = args;
+		}
+		if (source == args) {
+			addIndex(currentArgument);
+		} else {
+			addString(args[currentArgument]);
+		}
+		return currentArgument + 1;
+	}
+
+	@Override
+	public void set(CharSequence value) {
+		addString(value.toString());
+	}
+
+	private void addIndex(int index) {
+		if (indexes == null) {
+			if (count == 0) {
+				firstIndex = index;
+			} else if (count == 1) {
+				indexStride = index - firstIndex;
+			} else if (index != firstIndex + count * indexStride) {
+				indexes = new int[Math.max(INITIAL_CAPACITY, count * 2)];
+				for (int i = 0; i < count; i++) {
+					indexes[i] = firstIndex + i * indexStride;
+				}
+			}
+		}
+		if (indexes != null) {
+			if (count == indexes.length) {
+				indexes = Arrays.copyOf(indexes, count * 2);
+			}
+			indexes[count] = index;
+		}
+		count++;
+		view = null;
+	}
+
+	private void addString(String value) {
+		if (source != null) {
+			String[] copied = new String[Math.max(INITIAL_CAPACITY, count * 2)];
+			for (int i = 0; i < count; i++) {
+				copied[i] = source[indexAt(i)];
+			}
+			strings = copied;
+			source = null;
+			indexes = null;
+		} else if (count == strings.length) {
+			strings = Arrays.copyOf(strings, Math.max(INITIAL_CAPACITY, count * 2));
 		}
+		strings[count++] = value;
+		view = null;
+	}
+
+	// Keeps the string buffer for the next parse unless a list view handed out earlier still reads from it.
+	@Override
+	public void reset() {
+		if (viewShared) {
+			strings = NO_STRINGS;
+			viewShared = false;
+		} else {
+			Arrays.fill(strings, 0, Math.min(count, strings.length), null);
+		}
+		source = null;
+		indexes = null;
+		count = 0;
+		view = null;
+	}
+
+	private int indexAt(int i) {
+		return indexes == null ? firstIndex + i * indexStride : indexes[i];
+	}
+
+	String[] toArray() {
+		String[] result = new String[count];
+		if (source == null) {
+			System.arraycopy(strings, 0, result, 0, count);
+		} else {
+			for (int i = 0; i < count; i++) {
+				result[i] = source[indexAt(i)];
+			}
+		}
+		return result;
+	}
+
+	List<String> getList() {
+		if (view == null) {
+			view = new Values(source, firstIndex, indexStride, indexes, strings, count);
+			viewShared = true;
+		}
+		return view;
 	}
 
 	public static String[] getValue(ArgumentMarshaler am) {
 		if (am != null && am instanceof StringArrayArgumentMarshaler) {
-			return ((StringArrayArgumentMarshaler) am).strings.toArray(new String[0]);
+			return ((StringArrayArgumentMarshaler) am).toArray();
 		} else {
 			return new String[0];
 		}
 	}
 
-}
\ No newline at end of file
+	public static List<String> getList(ArgumentMarshaler am) {
+		if (am != null && am instanceof StringArrayArgumentMarshaler) {
+			return ((StringArrayArgumentMarshaler) am).getList();
+		} else {
+			return Collections.emptyList();
+		}
+	}
+
+	private static final class Values extends AbstractList<String> implements RandomAccess {
+
+		private final String[] source;
+		private final int firstIndex;
+		private final int indexStride;
+		private final int[] indexes;
+		private final String[] strings;
+		private final int size;
+
+		Values(String[] source, int firstIndex, int indexStride, int[] indexes, String[] strings, int size) {
+			this.source = source;
+			this.firstIndex = firstIndex;
+			this.indexStride = indexStride;
+			this.indexes = indexes;
+			this.strings = strings;
+			this.size = size;
+		}
+
+		@Override
+		public String get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			if (source == null) {
+				return strings[index];
+			}
+			return source[indexes == null ? firstIndex + index * indexStride : indexes[index]];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.objectmentor.utilities.args;
+
+import java.util.List;
+
+public final class StringArrayHandle extends ArgumentHandle {
+
+	StringArrayHandle(Schema schema, int slot) throws ArgsException {
+		super(schema, slot, ArgumentType.STRING_ARRAY);
+	}
+
+	public String[] get(Args args) throws ArgsException {
+		return ((StringArrayArgumentMarshaler) marshaler(args)).toArray();
+	}
+
+	public List<String> getList(Args args) throws ArgsException {
+		return ((StringArrayArgumentMarshaler) marshaler(args)).getList();
+	}
+
+	public String[] get(ArgsSnapshot snapshot) {
+		return getList(snapshot).toArray(new String[0]);
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<String> getList(ArgsSnapshot snapshot) {
+		return (List<String>) checkSchema(snapshot).referenceAt(slot);
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.objectmentor.utilities.args;
+
+public final class StringHandle extends ArgumentHandle {
+
+	StringHandle(Schema schema, int slot) throws ArgsException {
+		super(schema, slot, ArgumentType.STRING);
+	}
+
+	public String get(Args args) throws ArgsException {
+		return ((StringArgumentMarshaler) marshaler(args)).value();
+	}
+
+	public String getOrDefault(Args args, String defaultValue) throws ArgsException {
+		return found(args) ? get(args) : defaultValue;
+	}
+
+	public String get(ArgsSnapshot snapshot) {
+		return (String) checkSchema(snapshot).referenceAt(slot);
+	}
+
+	public String getOrDefault(ArgsSnapshot snapshot, String defaultValue) {
+		return found(snapshot) ? (String) snapshot.referenceAt(slot) : defaultValue;
+	}
+
+}
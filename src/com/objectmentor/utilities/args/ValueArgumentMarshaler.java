@@ -0,0 +1,7 @@
+package com.objectmentor.utilities.args;
+
+// A marshaler that takes exactly one value per occurrence. The value may be a view that changes after the call,
+// so it is converted right away and only turned into a String when it has to be kept.
+interface ValueArgumentMarshaler extends ArgumentMarshaler {
+	void set(CharSequence value) throws ArgsException;
+}
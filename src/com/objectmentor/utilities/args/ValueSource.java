@@ -0,0 +1,124 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// A layer that can supply argument values by key. Sources load their contents on the first lookup and keep them,
+// so a source that is never consulted never touches the environment or the file system.
+public abstract class ValueSource {
+
+	public static final ValueSource ARGUMENTS = new ValueSource("arguments") {
+		@Override
+		public String get(String key) {
+			return null;
+		}
+	};
+
+	private static final ValueSource ENVIRONMENT = new ValueSource("environment") {
+
+		private volatile Map<String, String> variables;
+
+		@Override
+		public String get(String key) {
+			Map<String, String> variables = this.variables;
+			if (variables == null) {
+				variables = System.getenv();
+				this.variables = variables;
+			}
+			return variables.get(key);
+		}
+
+	};
+
+	private final String description;
+
+	protected ValueSource(String description) {
+		this.description = description;
+	}
+
+	// Returns the value for key, or null if this source has none.
+	public abstract String get(String key) throws ArgsException;
+
+	public static ValueSource environment() {
+		return ENVIRONMENT;
+	}
+
+	public static ValueSource properties(Path file) {
+		return new PropertiesSource(file);
+	}
+
+	public static ValueSource of(String description, Map<String, String> values) {
+		final Map<String, String> copy = new HashMap<String, String>(values);
+		return new ValueSource(description) {
+			@Override
+			public String get(String key) {
+				return copy.get(key);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+
+	private static final class PropertiesSource extends ValueSource {
+
+		private final Path file;
+		private volatile Properties properties;
+
+		PropertiesSource(Path file) {
+			super("properties file " + file);
+			this.file = file;
+		}
+
+		@Override
+		public String get(String key) throws ArgsException {
+			Properties properties = this.properties;
+			if (properties == null) {
+				synchronized (this) {
+					properties = this.properties;
+					if (properties == null) {
+						properties = load();
+						this.properties = properties;
+					}
+				}
+			}
+			return properties.getProperty(key);
+		}
+
+		// A missing file is an empty layer; a file that exists but cannot be read is an error.
+		private Properties load() throws ArgsException {
+			Properties properties = new Properties();
+			try {
+				Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+				try {
+					properties.load(reader);
+				} finally {
+					reader.close();
+				}
+			} catch (NoSuchFileException e) {
+				return properties;
+			} catch (IOException e) {
+				throw invalidFile(e);
+			} catch (IllegalArgumentException e) {
+				// Properties.load() rejects a malformed unicode escape this way.
+				throw invalidFile(e);
+			}
+			return properties;
+		}
+
+		// Getters load the file lazily and throw this as it is, so it keeps its own stack trace.
+		private ArgsException invalidFile(Exception cause) {
+			ArgsException e = new ArgsException(INVALID_ARGUMENT_FILE, file.toString());
+			e.initCause(cause);
+			return e;
+		}
+
+	}
+
+}
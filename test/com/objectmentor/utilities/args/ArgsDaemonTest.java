@@ -0,0 +1,239 @@
+package com.objectmentor.utilities.args;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+public class ArgsDaemonTest {
+
+	private Path directory;
+	private Path socket;
+	private ArgsDaemon daemon;
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+	private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("args");
+		socket = directory.resolve("daemon.sock");
+		daemon = new ArgsDaemon(socket, new Schema("l,n#,name*"), new DaemonHandler() {
+			@Override
+			public int run(Args args, Map<String, String> environment, PrintStream out, PrintStream err)
+				throws ArgsException {
+				if (args.getBoolean('l')) {
+					for (int i = 0; i < args.getInt('n'); i++) {
+						out.println("line " + i);
+					}
+				}
+				if (args.found("name")) {
+					out.print("hello " + args.getString("name"));
+				}
+				if (environment.containsKey("GREETING")) {
+					err.print(environment.get("GREETING"));
+				}
+				if (args.extraArguments().contains("fail")) {
+					throw new IllegalStateException("failed");
+				}
+				if (args.extraArguments().contains("error")) {
+					throw new AssertionError("broken");
+				}
+				return args.extraArguments().size();
+			}
+		});
+		daemon.start();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		daemon.close();
+		Files.deleteIfExists(socket);
+		Files.delete(directory);
+	}
+
+	private int run(String[] args, Map<String, String> environment) throws IOException {
+		return ArgsClient.run(socket, args, environment, out, err);
+	}
+
+	private static String text(ByteArrayOutputStream stream) {
+		return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void relaysOutputAndExitCode() throws IOException {
+		Map<String, String> environment = Collections.singletonMap("GREETING", "gr\u00fc\u00df dich");
+		int exitCode = run(new String[] { "--name", "w\u00f6rld", "a", "b", "c" }, environment);
+		assertThat(exitCode, is(3));
+		assertThat(text(out), is("hello w\u00f6rld"));
+		assertThat(text(err), is("gr\u00fc\u00df dich"));
+	}
+
+	@Test
+	public void streamsLargeOutput() throws IOException {
+		assertThat(run(new String[] { "-l", "-n", "10000" }, Collections.<String, String> emptyMap()), is(0));
+		String[] lines = text(out).split(System.lineSeparator());
+		assertThat(lines.length, is(10000));
+		assertThat(lines[9999], is("line 9999"));
+	}
+
+	@Test
+	public void parseErrorsAreUsageErrors() throws IOException {
+		assertThat(run(new String[] { "-n", "many" }, Collections.<String, String> emptyMap()),
+			is(ArgsDaemon.USAGE_ERROR));
+		assertThat(text(err), is("Argument -n expects an integer but was 'many'." + System.lineSeparator()));
+	}
+
+	@Test
+	public void handlerFailuresAreReported() throws IOException {
+		assertThat(run(new String[] { "fail" }, Collections.<String, String> emptyMap()),
+			is(ArgsDaemon.INTERNAL_ERROR));
+		assertThat(text(err), containsString("IllegalStateException: failed"));
+	}
+
+	@Test
+	public void handlerErrorsAreReported() throws IOException {
+		assertThat(run(new String[] { "error" }, Collections.<String, String> emptyMap()),
+			is(ArgsDaemon.INTERNAL_ERROR));
+		assertThat(text(err), containsString("AssertionError: broken"));
+	}
+
+	@Test
+	public void servesConcurrentClients() throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int i = 0; i < 32; i++) {
+				final String name = "client" + i;
+				results.add(clients.submit(new Callable<String>() {
+					@Override
+					public String call() throws IOException {
+						ByteArrayOutputStream clientOut = new ByteArrayOutputStream();
+						ArgsClient.run(socket, new String[] { "--name", name }, Collections.<String, String> emptyMap(),
+							clientOut, new ByteArrayOutputStream());
+						return text(clientOut);
+					}
+				}));
+			}
+			for (int i = 0; i < 32; i++) {
+				assertThat(results.get(i).get(), is("hello client" + i));
+			}
+		} finally {
+			clients.shutdown();
+		}
+	}
+
+	@Test
+	public void socketIsPrivateToItsOwner() throws IOException {
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(socket)), is("rw-------"));
+		DirectoryStream<Path> entries = Files.newDirectoryStream(directory);
+		try {
+			Iterator<Path> iterator = entries.iterator();
+			assertThat(iterator.next(), is(socket));
+			assertThat(iterator.hasNext(), is(false));
+		} finally {
+			entries.close();
+		}
+	}
+
+	@Test
+	public void closeRemovesTheSocket() throws IOException {
+		daemon.close();
+		assertThat(Files.exists(socket), is(false));
+		try {
+			run(new String[0], Collections.<String, String> emptyMap());
+			fail();
+		} catch (IOException e) {
+		}
+	}
+
+	@Test
+	public void refusesASocketInUse() throws Exception {
+		ArgsDaemon second = new ArgsDaemon(socket, new Schema(""), null);
+		try {
+			second.start();
+			fail();
+		} catch (IOException e) {
+			assertThat(e.getMessage(), containsString("Another daemon"));
+		}
+	}
+
+	@Test
+	public void exactlyOneOfTwoDaemonsStartedTogetherWins() throws Exception {
+		daemon.close();
+		ExecutorService starters = Executors.newFixedThreadPool(2);
+		try {
+			for (int round = 0; round < 300; round++) {
+				final CountDownLatch ready = new CountDownLatch(2);
+				List<Future<ArgsDaemon>> started = new ArrayList<Future<ArgsDaemon>>();
+				for (int i = 0; i < 2; i++) {
+					final int exitCode = i;
+					started.add(starters.submit(new Callable<ArgsDaemon>() {
+						@Override
+						public ArgsDaemon call() throws Exception {
+							ArgsDaemon candidate = new ArgsDaemon(socket, new Schema(""), new DaemonHandler() {
+								@Override
+								public int run(Args args, Map<String, String> environment, PrintStream out,
+									PrintStream err) {
+									return exitCode;
+								}
+							});
+							ready.countDown();
+							ready.await();
+							try {
+								candidate.start();
+								return candidate;
+							} catch (IOException e) {
+								assertThat(e.getMessage(), containsString("Another daemon"));
+								return null;
+							}
+						}
+					}));
+				}
+				ArgsDaemon first = started.get(0).get();
+				ArgsDaemon second = started.get(1).get();
+				assertThat((first == null) != (second == null), is(true));
+				daemon = first != null ? first : second;
+				assertThat(run(new String[0], Collections.<String, String> emptyMap()), is(first != null ? 0 : 1));
+				daemon.close();
+			}
+		} finally {
+			starters.shutdown();
+		}
+	}
+
+	@Test
+	public void replacesAStaleSocket() throws Exception {
+		daemon.close();
+		ServerSocketChannel crashed = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+		crashed.bind(UnixDomainSocketAddress.of(socket));
+		crashed.close();
+		assertThat(Files.exists(socket), is(true));
+
+		daemon = new ArgsDaemon(socket, new Schema(""), null);
+		daemon.start();
+		SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+	}
+
+	@Test
+	public void refusesANonSocketFile() throws Exception {
+		daemon.close();
+		Files.createFile(socket);
+		daemon = new ArgsDaemon(socket, new Schema(""), null);
+		try {
+			daemon.start();
+			fail();
+		} catch (IOException e) {
+			assertThat(e.getMessage(), containsString("is not a socket"));
+		}
+	}
+
+}
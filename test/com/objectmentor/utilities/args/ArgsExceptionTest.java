@@ -68,4 +68,45 @@ public class ArgsExceptionTest {
 		assertThat(e.getMessage(), is(equalTo("Argument 'x' is not of the requested type.")));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void invalidArgumentFile() {
+		ArgsException e = new ArgsException(INVALID_ARGUMENT_FILE, "args.txt");
+		assertThat(e.getMessage(), is(equalTo("Argument file 'args.txt' is missing, unreadable or malformed.")));
+	}
+
+	@Test
+	public void recursiveArgumentFile() {
+		ArgsException e = new ArgsException(RECURSIVE_ARGUMENT_FILE, "args.txt");
+		assertThat(e.getMessage(), is(equalTo("Argument file 'args.txt' includes itself.")));
+	}
+
+	@Test
+	public void withoutStackTrace() {
+		ArgsException e = new ArgsException(INVALID_INTEGER, 'x', "Forty two", false);
+		assertThat(e.getStackTrace().length, is(0));
+		assertThat(e.getMessage(), is(equalTo("Argument -x expects an integer but was 'Forty two'.")));
+	}
+
+	@Test
+	public void everyErrorCodeHasAMessage() {
+		for (ArgsException.ErrorCode errorCode : ArgsException.ErrorCode.values()) {
+			assertThat(errorCode.name(), new ArgsException(errorCode, 'x', "p").getMessage().isEmpty(), is(false));
+		}
+	}
+
+	@Test
+	public void messageFollowsChanges() {
+		ArgsException e = new ArgsException(INVALID_INTEGER, 'x', "Forty two");
+		e.getMessage();
+		e.setErrorArgumentName("count");
+		e.setErrorParameter("many");
+		assertThat(e.getMessage(), is(equalTo("Argument --count expects an integer but was 'many'.")));
+	}
+
+	@Test
+	public void missingParameterIsRenderedAsNull() {
+		ArgsException e = new ArgsException(INVALID_ARGUMENT_FORMAT, 'x');
+		assertThat(e.getMessage(), is(equalTo("'null' is not a valid argument format.")));
+	}
+
+}
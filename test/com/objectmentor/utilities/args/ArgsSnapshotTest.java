@@ -0,0 +1,128 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class ArgsSnapshotTest {
+
+	private static final String SCHEMA = "v,n#,r##,s*,f[*]";
+
+	private static String[] commandLine(int n) {
+		return new String[] { "-vn", Integer.toString(n), "-r", n + ".5", "-s", "value" + n, "-f", "a" + n, "-f",
+			"b" + n, "extra" };
+	}
+
+	private static void assertConsistent(ArgsSnapshot snapshot) throws ArgsException {
+		int n = snapshot.getInt('n');
+		assertThat(snapshot.getBoolean('v'), is(true));
+		assertThat(snapshot.getDouble('r'), is(n + 0.5));
+		assertThat(snapshot.getString('s'), is(equalTo("value" + n)));
+		assertThat(snapshot.getStringArray('f'), is(equalTo(new String[] { "a" + n, "b" + n })));
+		assertThat(snapshot.extraArgumentsIndex(), is(10));
+	}
+
+	@Test
+	public void copiesParsedValues() throws ArgsException {
+		String[] argv = commandLine(42);
+		ArgsSnapshot snapshot = new Args(SCHEMA, argv).snapshot();
+		argv[1] = "7";
+		argv[7] = "changed";
+		assertConsistent(snapshot);
+		assertThat(snapshot.getInt('n'), is(42));
+		assertThat(snapshot.found('s'), is(true));
+	}
+
+	@Test
+	public void defaultsForMissingArguments() throws ArgsException {
+		ArgsSnapshot snapshot = new Args(SCHEMA, new String[0]).snapshot();
+		assertThat(snapshot.found('n'), is(false));
+		assertThat(snapshot.getBoolean('v'), is(false));
+		assertThat(snapshot.getIntOrDefault('n', 21), is(21));
+		assertThat(snapshot.getDoubleOrDefault('r', 2.5), is(2.5));
+		assertThat(snapshot.getStringOrDefault('s', "default"), is(equalTo("default")));
+		assertThat(snapshot.getStringArray('f').length, is(0));
+	}
+
+	@Test
+	public void returnedArraysDoNotAliasSnapshot() throws ArgsException {
+		ArgsSnapshot snapshot = new Args(SCHEMA, commandLine(1)).snapshot();
+		snapshot.getStringArray('f')[0] = "changed";
+		assertThat(snapshot.getStringArray('f')[0], is(equalTo("a1")));
+	}
+
+	@Test
+	public void validatesArgumentIdAndType() throws ArgsException {
+		ArgsSnapshot snapshot = new Args(SCHEMA, new String[0]).snapshot();
+		try {
+			snapshot.found('x');
+			fail("found() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_ARGUMENT_NAME));
+		}
+		try {
+			snapshot.getInt('s');
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(WRONG_ARGUMENT_TYPE));
+			assertThat(e.getErrorArgumentId(), is('s'));
+		}
+	}
+
+	private static class Shared {
+		ArgsSnapshot snapshot;
+	}
+
+	@Test
+	public void concurrentReadersSeeConsistentSnapshots() throws Exception {
+		final Schema schema = new Schema(SCHEMA);
+		final Shared shared = new Shared();
+		shared.snapshot = schema.parse(commandLine(0)).snapshot();
+		final int readers = 8;
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+		Future<Void> writer;
+		try {
+			writer = executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					start.await();
+					for (int n = 1; n <= 20000; n++) {
+						shared.snapshot = schema.parse(commandLine(n)).snapshot();
+					}
+					return null;
+				}
+			});
+			for (int i = 0; i < readers; i++) {
+				executor.submit(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							start.await();
+							for (int j = 0; j < 20000; j++) {
+								assertConsistent(shared.snapshot);
+							}
+						} catch (Throwable e) {
+							failure.compareAndSet(null, e);
+						}
+					}
+				});
+			}
+			start.countDown();
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(executor.awaitTermination(1, TimeUnit.MINUTES), is(true));
+		writer.get();
+		if (failure.get() != null) {
+			throw new AssertionError(failure.get());
+		}
+	}
+
+}
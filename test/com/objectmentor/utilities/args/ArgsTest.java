@@ -4,6 +4,8 @@ import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 public class ArgsTest {
@@ -74,6 +76,14 @@ public class ArgsTest {
 		assertThat(args.extraArgumentsIndex(), is(1));
 	}
 
+	@Test
+	public void nonAsciiArgumentNames() throws ArgsException {
+		Args args = new Args("\u00e9,\u03b1#", new String[] { "-\u00e9\u03b1", "42" });
+		assertThat(args.found('\u00e9'), is(true));
+		assertThat(args.getInt('\u03b1'), is(42));
+		assertThat(args.extraArgumentsIndex(), is(2));
+	}
+
 	@Test
 	public void foundValidatesArgumentId() {
 		try {
@@ -230,6 +240,13 @@ public class ArgsTest {
 		assertThat(result[0], is(equalTo("alpha")));
 	}
 
+	@Test
+	public void stringListPresent() throws ArgsException {
+		Args args = new Args("x[*],y", new String[] { "-x", "alpha", "-yx", "beta", "-x", "gamma" });
+		assertThat(args.getStringList('x'), is(equalTo(Arrays.asList("alpha", "beta", "gamma"))));
+		assertThat(args.getStringArray('x'), is(equalTo(new String[] { "alpha", "beta", "gamma" })));
+	}
+
 	@Test
 	public void missingStringArrayElement() {
 		try {
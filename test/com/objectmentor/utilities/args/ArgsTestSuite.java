@@ -5,5 +5,13 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ ArgsTest.class, ArgsExceptionTest.class })
+@SuiteClasses({ ArgsTest.class, ArgsExceptionTest.class, SchemaTest.class,
+	ArgumentMarshalerTest.class, NumberParserTest.class,
+	ParseResultTest.class, BatchParserTest.class, ArgsSnapshotTest.class,
+	ArgumentFileTest.class, LazyConversionTest.class, ArgumentHandleTest.class,
+	BinderTest.class, ArgumentParserProcessorTest.class, LongNameTest.class,
+	FallbacksTest.class, InstrumentationTest.class, ReparseTest.class,
+	CommandRegistryTest.class, CollectErrorsTest.class, LongValueArgumentsTest.class,
+	PrimitiveArrayArgumentsTest.class, ArgsDaemonTest.class,
+	ReloadingArgsTest.class, CommandLineTest.class })
 public class ArgsTestSuite {}
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class ArgumentFileTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("x,y*,n#,f[*]", ParseOption.EXPAND_ARGUMENT_FILES);
+	}
+
+	private String write(String name, String contents) throws IOException {
+		Path path = folder.getRoot().toPath().resolve(name);
+		Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+		return path.toString();
+	}
+
+	@Test
+	public void expandsArgumentFile() throws Exception {
+		String file = write("args", "-x\n-y \"hello world\" # a comment\n\t-n 42\n");
+		Args args = new Args(schema, new String[] { "@" + file, "extra" });
+		assertThat(args.getBoolean('x'), is(true));
+		assertThat(args.getString('y'), is(equalTo("hello world")));
+		assertThat(args.getInt('n'), is(42));
+		assertThat(args.extraArgumentsIndex(), is(5));
+		assertThat(args.extraArguments(), is(equalTo(Arrays.asList("extra"))));
+	}
+
+	@Test
+	public void quotingAndEscapes() throws Exception {
+		String file = write("args", "-f 'single \"quoted\"' -f \"say \\\"hi\\\" C:\\dir\" -f a\"b c\"d -f '' -f \u00e9t\u00e9");
+		Args args = new Args(schema, new String[] { "@" + file });
+		assertThat(args.getStringArray('f'),
+			is(equalTo(new String[] { "single \"quoted\"", "say \"hi\" C:\\dir", "ab cd", "", "\u00e9t\u00e9" })));
+	}
+
+	@Test
+	public void fileSuppliesValuesAndExtraArguments() throws Exception {
+		String file = write("paths", "first.txt\nsecond.txt\n");
+		Args args = new Args(schema, new String[] { "-y", "@" + file, "-x", "@" + file });
+		assertThat(args.getString('y'), is(equalTo("first.txt")));
+		assertThat(args.extraArgumentsIndex(), is(2));
+		assertThat(args.extraArguments(), is(equalTo(Arrays.asList("second.txt", "-x", "first.txt", "second.txt"))));
+	}
+
+	@Test
+	public void nestedFilesResolveRelativeToParent() throws Exception {
+		folder.newFolder("nested");
+		write("nested/inner", "-n 7");
+		String outer = write("outer", "-x @nested/inner -y done");
+		Args args = new Args(schema, new String[] { "@" + outer });
+		assertThat(args.getBoolean('x'), is(true));
+		assertThat(args.getInt('n'), is(7));
+		assertThat(args.getString('y'), is(equalTo("done")));
+	}
+
+	@Test
+	public void sameFileMayBeIncludedTwice() throws Exception {
+		write("inner", "-f value");
+		String outer = write("outer", "@inner @inner");
+		Args args = new Args(schema, new String[] { "@" + outer });
+		assertThat(args.getStringArray('f').length, is(2));
+	}
+
+	@Test
+	public void recursiveFile() throws Exception {
+		write("a", "-x @b");
+		String b = write("b", "@a");
+		try {
+			new Args(schema, new String[] { "@" + b });
+			fail("Args constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(RECURSIVE_ARGUMENT_FILE));
+			assertThat(e.getErrorParameter(), is(equalTo("b")));
+		}
+	}
+
+	@Test
+	public void missingFile() {
+		try {
+			new Args(schema, new String[] { "@does-not-exist" });
+			fail("Args constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FILE));
+			assertThat(e.getErrorParameter(), is(equalTo("does-not-exist")));
+			assertThat(e.getCause(), is(instanceOf(NoSuchFileException.class)));
+		}
+	}
+
+	@Test
+	public void directoryIsNotAFile() throws Exception {
+		String directory = folder.newFolder("directory").getPath();
+		try {
+			new Args(schema, new String[] { "@" + directory });
+			fail("Args constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FILE));
+			assertThat(e.getCause(), is(instanceOf(IOException.class)));
+		}
+	}
+
+	@Test
+	public void unterminatedQuote() throws Exception {
+		String file = write("args", "-y \"open");
+		ParseResult result = schema.tryParse(new String[] { "@" + file });
+		assertThat(result.getErrors().get(0).getErrorCode(), is(INVALID_ARGUMENT_FILE));
+	}
+
+	@Test
+	public void errorsInsideFileNameArgument() throws Exception {
+		String file = write("args", "-n many");
+		try {
+			new Args(schema, new String[] { "@" + file });
+			fail("Args constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentId(), is('n'));
+		}
+	}
+
+	@Test
+	public void notExpandedByDefault() throws ArgsException {
+		Args args = new Args("x", new String[] { "-x", "@file" });
+		assertThat(args.extraArgumentsIndex(), is(1));
+		assertThat(args.extraArguments(), is(equalTo(Arrays.asList("@file"))));
+	}
+
+}
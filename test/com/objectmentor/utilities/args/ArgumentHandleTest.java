@@ -0,0 +1,104 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class ArgumentHandleTest {
+
+	@Test
+	public void readsEveryType() throws ArgsException {
+		Schema schema = new Schema("l,d*,p#,r##,f[*]");
+		BooleanHandle logging = schema.booleanHandle('l');
+		StringHandle directory = schema.stringHandle('d');
+		IntHandle port = schema.intHandle('p');
+		DoubleHandle ratio = schema.doubleHandle('r');
+		StringArrayHandle files = schema.stringArrayHandle('f');
+		Args args = schema.parse(new String[] { "-l", "-d", "/tmp", "-p", "42", "-r", "0.5", "-f", "a", "-f", "b" });
+		assertThat(logging.get(args), is(true));
+		assertThat(directory.get(args), is("/tmp"));
+		assertThat(port.get(args), is(42));
+		assertThat(ratio.get(args), is(0.5));
+		assertThat(files.get(args), is(new String[] { "a", "b" }));
+		assertThat(files.getList(args), is(Arrays.asList("a", "b")));
+		assertThat(port.getId(), is('p'));
+		assertThat(port.getSchema(), is(sameInstance(schema)));
+	}
+
+	@Test
+	public void defaultsWhenNotFound() throws ArgsException {
+		Schema schema = new Schema("l,d*,p#,r##,f[*]");
+		Args args = schema.parse(new String[0]);
+		assertThat(schema.booleanHandle('l').get(args), is(false));
+		assertThat(schema.stringHandle('d').found(args), is(false));
+		assertThat(schema.stringHandle('d').getOrDefault(args, "/var"), is("/var"));
+		assertThat(schema.intHandle('p').getOrDefault(args, 80), is(80));
+		assertThat(schema.doubleHandle('r').getOrDefault(args, 1.5), is(1.5));
+		assertThat(schema.stringArrayHandle('f').get(args).length, is(0));
+	}
+
+	@Test
+	public void readsSnapshot() throws ArgsException {
+		Schema schema = new Schema("l,d*,p#,r##,f[*]");
+		ArgsSnapshot snapshot = schema.parse(new String[] { "-l", "-p", "42", "-f", "a" }).snapshot();
+		assertThat(schema.booleanHandle('l').get(snapshot), is(true));
+		assertThat(schema.stringHandle('d').getOrDefault(snapshot, "/var"), is("/var"));
+		assertThat(schema.intHandle('p').get(snapshot), is(42));
+		assertThat(schema.intHandle('p').found(snapshot), is(true));
+		assertThat(schema.doubleHandle('r').getOrDefault(snapshot, 1.5), is(1.5));
+		assertThat(schema.stringArrayHandle('f').getList(snapshot), is(Arrays.asList("a")));
+	}
+
+	@Test
+	public void unknownArgument() throws ArgsException {
+		try {
+			new Schema("p#").intHandle('x');
+			fail("intHandle() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_ARGUMENT_NAME));
+			assertThat(e.getErrorArgumentId(), is('x'));
+		}
+	}
+
+	@Test
+	public void wrongArgumentType() throws ArgsException {
+		try {
+			new Schema("p#").doubleHandle('p');
+			fail("doubleHandle() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(WRONG_ARGUMENT_TYPE));
+			assertThat(e.getErrorArgumentId(), is('p'));
+		}
+	}
+
+	@Test
+	public void differentSchema() throws ArgsException {
+		IntHandle port = new Schema("p#").intHandle('p');
+		Args args = new Args("p#", new String[] { "-p", "42" });
+		try {
+			port.get(args);
+			fail("get() should have thrown exception.");
+		} catch (IllegalArgumentException e) {
+		}
+	}
+
+	@Test
+	public void lazyConversion() throws ArgsException {
+		Schema schema = new Schema("n#,r##", ParseOption.LAZY_CONVERSION);
+		Args args = schema.parse(new String[] { "-n", "42", "-r", "half" });
+		assertThat(schema.intHandle('n').get(args), is(42));
+		try {
+			schema.doubleHandle('r').get(args);
+			fail("get() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_DOUBLE));
+			assertThat(e.getErrorArgumentId(), is('r'));
+			assertThat(e.getErrorParameter(), is("half"));
+		}
+	}
+
+}
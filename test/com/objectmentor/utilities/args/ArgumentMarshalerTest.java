@@ -0,0 +1,101 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class ArgumentMarshalerTest {
+
+	private static class PairArgumentMarshaler implements ArgumentMarshaler {
+
+		private List<String> values = new ArrayList<String>();
+
+		@Override
+		public void set(Iterator<String> currentArgument) throws ArgsException {
+			values.add(currentArgument.next());
+			values.add(currentArgument.next());
+		}
+
+	}
+
+	@Test
+	public void iteratorMarshalerIsAdaptedToCursor() throws ArgsException {
+		PairArgumentMarshaler marshaler = new PairArgumentMarshaler();
+		int next = marshaler.set(new String[] { "-p", "alpha", "beta", "gamma" }, 1);
+		assertThat(next, is(3));
+		assertThat(marshaler.values, is(equalTo(Arrays.asList("alpha", "beta"))));
+	}
+
+	@Test
+	public void booleanConsumesNothing() throws ArgsException {
+		ArgumentMarshaler marshaler = new BooleanArgumentMarshaler();
+		assertThat(marshaler.set(new String[] { "-x", "alpha" }, 1), is(1));
+		assertThat(BooleanArgumentMarshaler.getValue(marshaler), is(true));
+	}
+
+	@Test
+	public void integerConsumesOneArgument() throws ArgsException {
+		ArgumentMarshaler marshaler = new IntegerArgumentMarshaler();
+		assertThat(marshaler.set(new String[] { "-x", "42", "beta" }, 1), is(2));
+		assertThat(IntegerArgumentMarshaler.getValue(marshaler), is(42));
+	}
+
+	@Test
+	public void stringArrayConsumesOneArgumentPerCall() throws ArgsException {
+		ArgumentMarshaler marshaler = new StringArrayArgumentMarshaler();
+		String[] args = { "-x", "alpha", "-x", "beta" };
+		assertThat(marshaler.set(args, 1), is(2));
+		assertThat(marshaler.set(args, 3), is(4));
+		assertThat(StringArrayArgumentMarshaler.getValue(marshaler), is(equalTo(new String[] { "alpha", "beta" })));
+	}
+
+	@Test
+	public void stringArrayKeepsIrregularPositions() throws ArgsException {
+		ArgumentMarshaler marshaler = new StringArrayArgumentMarshaler();
+		String[] args = { "-f", "a", "-f", "b", "-f", "c", "-xf", "d", "-yzf", "e", "f" };
+		for (int index : new int[] { 1, 3, 5, 7, 9, 10 }) {
+			marshaler.set(args, index);
+		}
+		assertThat(StringArrayArgumentMarshaler.getList(marshaler),
+			is(equalTo(Arrays.asList("a", "b", "c", "d", "e", "f"))));
+	}
+
+	@Test
+	public void stringArrayMixesCursorAndIterator() throws ArgsException {
+		ArgumentMarshaler marshaler = new StringArrayArgumentMarshaler();
+		marshaler.set(new String[] { "-f", "a", "-f", "b" }, 1);
+		marshaler.set(new String[] { "-f", "a", "-f", "b" }, 3);
+		marshaler.set(Arrays.asList("c").iterator());
+		marshaler.set(new String[] { "-f", "d" }, 1);
+		assertThat(StringArrayArgumentMarshaler.getValue(marshaler), is(equalTo(new String[] { "a", "b", "c", "d" })));
+	}
+
+	@Test
+	public void stringListIsSharedReadOnlyView() throws ArgsException {
+		ArgumentMarshaler marshaler = new StringArrayArgumentMarshaler();
+		marshaler.set(new String[] { "-f", "a" }, 1);
+		List<String> list = StringArrayArgumentMarshaler.getList(marshaler);
+		assertThat(StringArrayArgumentMarshaler.getList(marshaler), is(sameInstance(list)));
+		try {
+			list.add("b");
+			fail("add() should have thrown exception.");
+		} catch (UnsupportedOperationException e) {
+			assertThat(list.size(), is(1));
+		}
+	}
+
+	@Test
+	public void missingValueAtEndOfArguments() {
+		try {
+			new DoubleArgumentMarshaler().set(new String[] { "-x" }, 1);
+			fail("set() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(MISSING_DOUBLE));
+		}
+	}
+
+}
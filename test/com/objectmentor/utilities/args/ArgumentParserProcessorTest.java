@@ -0,0 +1,187 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import javax.tools.*;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class ArgumentParserProcessorTest {
+
+	private static final String CONFIG = "package example;\n"
+		+ "import com.objectmentor.utilities.args.*;\n"
+		+ "import java.util.List;\n"
+		+ "@GenerateParser\n"
+		+ "public class Config {\n"
+		+ "  @Argument('l') public boolean logging;\n"
+		+ "  @Argument('d') public String directory = \"/var\";\n"
+		+ "  @Argument('p') public int port = 80;\n"
+		+ "  @Argument('r') public double ratio;\n"
+		+ "  @Argument('f') public String[] files;\n"
+		+ "  @Argument('x') public List<String> excludes;\n"
+		+ "}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private StringWriter diagnostics = new StringWriter();
+	private ClassLoader loader;
+
+	@Test
+	public void generatesSwitchBasedParser() throws Exception {
+		assertThat(compile("Config", CONFIG), is(true));
+		String source = new String(Files.readAllBytes(new File(folder.getRoot(),
+			"out/example/ConfigParser.java").toPath()), StandardCharsets.UTF_8);
+		assertThat(source, containsString("switch (id)"));
+		assertThat(source, not(containsString("reflect")));
+		assertThat(source, not(containsString("Schema")));
+	}
+
+	@Test
+	public void parsesEveryType() throws Exception {
+		assertThat(compile("Config", CONFIG), is(true));
+		Object config = parse("-lp", "8080", "-r", "0.5", "-f", "a", "-x", "b", "-f", "c", "extra");
+		assertThat(field(config, "logging"), is((Object) true));
+		assertThat(field(config, "directory"), is((Object) "/var"));
+		assertThat(field(config, "port"), is((Object) 8080));
+		assertThat(field(config, "ratio"), is((Object) 0.5));
+		assertThat((String[]) field(config, "files"), is(new String[] { "a", "c" }));
+		assertThat(field(config, "excludes"), is((Object) Arrays.asList("b")));
+	}
+
+	@Test
+	public void returnsExtraArgumentsIndex() throws Exception {
+		assertThat(compile("Config", CONFIG), is(true));
+		Class<?> parser = load("example.ConfigParser");
+		Object config = load("example.Config").getConstructor().newInstance();
+		Method parse = parser.getMethod("parse", String[].class, config.getClass());
+		assertThat(parse.invoke(null, new String[] { "-l", "-d", "/tmp", "x", "-p" }, config), is((Object) 3));
+	}
+
+	@Test
+	public void doubleDashEndsTheOptionsLikeArgs() throws Exception {
+		assertThat(compile("Config", CONFIG), is(true));
+		Class<?> parser = load("example.ConfigParser");
+		Object config = load("example.Config").getConstructor().newInstance();
+		Method parse = parser.getMethod("parse", String[].class, config.getClass());
+		String[] args = { "-l", "--", "-p", "8080" };
+		assertThat(parse.invoke(null, args, config), is((Object) new Args("l,p#", args).extraArgumentsIndex()));
+		assertThat(field(config, "logging"), is((Object) true));
+		assertThat(field(config, "port"), is((Object) 80));
+	}
+
+	@Test
+	public void reportsSameErrorsAsArgs() throws Exception {
+		assertThat(compile("Config", CONFIG), is(true));
+		assertError(UNEXPECTED_ARGUMENT, 'y', null, "-ly");
+		assertError(MISSING_STRING, 'd', null, "-d");
+		assertError(MISSING_INTEGER, 'p', null, "-p");
+		assertError(INVALID_INTEGER, 'p', "eighty", "-p", "eighty");
+		assertError(MISSING_DOUBLE, 'r', null, "-r");
+		assertError(INVALID_DOUBLE, 'r', "half", "-r", "half");
+		assertError(MISSING_STRING, 'f', null, "-f");
+	}
+
+	@Test
+	public void rejectsPrivateFields() throws Exception {
+		assertThat(compile("Bad", "package example;\n"
+			+ "import com.objectmentor.utilities.args.*;\n"
+			+ "@GenerateParser\n"
+			+ "public class Bad {\n"
+			+ "  @Argument('p') private int port;\n"
+			+ "}\n"), is(false));
+		assertThat(diagnostics.toString(), containsString("must not be private"));
+	}
+
+	@Test
+	public void rejectsUnsupportedTypes() throws Exception {
+		assertThat(compile("Bad", "package example;\n"
+			+ "import com.objectmentor.utilities.args.*;\n"
+			+ "@GenerateParser\n"
+			+ "public class Bad {\n"
+			+ "  @Argument('p') long port;\n"
+			+ "}\n"), is(false));
+		assertThat(diagnostics.toString(), containsString("Unsupported @Argument field type long"));
+	}
+
+	@Test
+	public void rejectsDuplicateIds() throws Exception {
+		assertThat(compile("Bad", "package example;\n"
+			+ "import com.objectmentor.utilities.args.*;\n"
+			+ "@GenerateParser\n"
+			+ "public class Bad {\n"
+			+ "  @Argument('p') int port;\n"
+			+ "  @Argument('p') int other;\n"
+			+ "}\n"), is(false));
+		assertThat(diagnostics.toString(), containsString("-p is declared more than once"));
+	}
+
+	private boolean compile(String name, String source) throws IOException {
+		File sources = folder.newFolder("example");
+		File file = new File(sources, name + ".java");
+		Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+		File out = folder.newFolder("out");
+		String classPath = System.getProperty("java.class.path");
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
+		try {
+			List<String> options = Arrays.asList("-d", out.getPath(), "-s", out.getPath(), "-classpath", classPath,
+				"-processorpath", classPath, "-processor", ArgumentParserProcessor.class.getName());
+			return compiler.getTask(diagnostics, fileManager, null, options, null,
+				fileManager.getJavaFileObjects(file)).call();
+		} finally {
+			fileManager.close();
+		}
+	}
+
+	private Class<?> load(String name) throws Exception {
+		if (loader == null) {
+			loader = new URLClassLoader(new URL[] { new File(folder.getRoot(), "out").toURI().toURL() },
+				getClass().getClassLoader());
+		}
+		return Class.forName(name, true, loader);
+	}
+
+	private Object parse(String... args) throws Exception {
+		try {
+			return load("example.ConfigParser").getMethod("parse", String[].class).invoke(null, (Object) args);
+		} catch (InvocationTargetException e) {
+			throw (Exception) e.getCause();
+		}
+	}
+
+	private static Object field(Object target, String name) throws Exception {
+		return target.getClass().getField(name).get(target);
+	}
+
+	private void assertError(ArgsException.ErrorCode code, char id, String parameter, String... args)
+		throws Exception {
+		try {
+			parse(args);
+			fail("parse() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(code));
+			assertThat(e.getErrorArgumentId(), is(id));
+			assertThat(e.getErrorParameter(), is(parameter));
+		}
+		try {
+			new Args("l,d*,p#,r##,f[*],x[*]", args);
+			fail("Args should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(code));
+			assertThat(e.getErrorArgumentId(), is(id));
+			assertThat(e.getErrorParameter(), is(parameter));
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+public class BatchParserTest {
+
+	private static List<String[]> commandLines(int count) {
+		List<String[]> argvs = new ArrayList<String[]>();
+		for (int i = 0; i < count; i++) {
+			if (i % 7 == 0) {
+				argvs.add(new String[] { "-n", "not a number" });
+			} else {
+				argvs.add(new String[] { "-vn", Integer.toString(i), "file" + i });
+			}
+		}
+		return argvs;
+	}
+
+	private static void assertResultsInOrder(List<ParseResult> results, int count) throws ArgsException {
+		assertThat(results.size(), is(count));
+		for (int i = 0; i < count; i++) {
+			ParseResult result = results.get(i);
+			if (i % 7 == 0) {
+				assertThat(result.isSuccess(), is(false));
+				assertThat(result.getErrors().get(0).getErrorCode(), is(INVALID_INTEGER));
+			} else {
+				assertThat(result.getArgs().getInt('n'), is(i));
+				assertThat(result.getArgs().extraArgumentsIndex(), is(2));
+			}
+		}
+	}
+
+	@Test
+	public void forkJoin() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v,n#"));
+		assertResultsInOrder(parser.parseAll(commandLines(10000)), 10000);
+	}
+
+	@Test
+	public void executor() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v,n#"));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertResultsInOrder(parser.parseAll(commandLines(10000), executor), 10000);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void stream() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v,n#"));
+		assertResultsInOrder(parser.parseAll(commandLines(10000).stream()), 10000);
+		assertResultsInOrder(parser.parseAll(commandLines(10000).parallelStream()), 10000);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void streamResultsAreUnmodifiable() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v"));
+		parser.parseAll(commandLines(3).stream()).clear();
+	}
+
+	@Test
+	public void nullsAreRejectedBeforeParsing() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v,n#"));
+		List<String[]> nullCommandLine = commandLines(100);
+		nullCommandLine.set(42, null);
+		List<String[]> nullArgument = commandLines(100);
+		nullArgument.set(43, new String[] { "-v", null });
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			assertRejected(parser, nullCommandLine, executor, "Command line 42 is null.");
+			assertRejected(parser, nullArgument, executor, "Argument 1 of command line 43 is null.");
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static void assertRejected(BatchParser parser, List<String[]> argvs, Executor executor, String message) {
+		try {
+			parser.parseAll(argvs);
+			fail("parseAll() should have thrown exception.");
+		} catch (NullPointerException e) {
+			assertThat(e.getMessage(), is(message));
+		}
+		try {
+			parser.parseAll(argvs, executor);
+			fail("parseAll() should have thrown exception.");
+		} catch (NullPointerException e) {
+			assertThat(e.getMessage(), is(message));
+		}
+	}
+
+	@Test
+	public void emptyBatch() throws ArgsException {
+		BatchParser parser = new BatchParser(new Schema("v"));
+		assertThat(parser.parseAll(new ArrayList<String[]>()).isEmpty(), is(true));
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class BinderTest {
+
+	static class ServerConfig {
+		@Argument('l') boolean logging;
+		@Argument('d') String directory = "/var";
+		@Argument('p') int port = 80;
+		@Argument('r') double ratio = 1.0;
+		@Argument('f') String[] files = new String[0];
+		@Argument('x') List<String> excludes = Collections.emptyList();
+		int unbound = 7;
+	}
+
+	static class VerboseServerConfig extends ServerConfig {
+		@Argument('v') private boolean verbose;
+	}
+
+	static class UnsupportedType {
+		@Argument('n') long count;
+	}
+
+	static class IntegerList {
+		@Argument('n') List<Integer> numbers;
+	}
+
+	@SuppressWarnings("rawtypes")
+	static class RawList {
+		@Argument('n') List numbers;
+	}
+
+	static class DuplicateId {
+		@Argument('n') int first;
+		@Argument('n') int second;
+	}
+
+	static class FinalField {
+		@Argument('n') final int count = 0;
+	}
+
+	static class NoDefaultConstructor {
+		@Argument('n') int count;
+
+		NoDefaultConstructor(int count) {
+			this.count = count;
+		}
+	}
+
+	@Test
+	public void derivesSchemaFromFields() throws ArgsException {
+		Schema schema = Binder.of(ServerConfig.class).getSchema();
+		assertThat(schema.argumentIds(), is((Set<Character>) new HashSet<Character>(
+			Arrays.asList('l', 'd', 'p', 'r', 'f', 'x'))));
+		assertThat(schema.booleanHandle('l').getId(), is('l'));
+		assertThat(schema.doubleHandle('r').getId(), is('r'));
+	}
+
+	@Test
+	public void bindsFoundArguments() throws ArgsException {
+		ServerConfig config = Binder.of(ServerConfig.class).parse(new String[] {
+			"-l", "-d", "/tmp", "-p", "8080", "-r", "0.5", "-f", "a", "-f", "b", "-x", "c" });
+		assertThat(config.logging, is(true));
+		assertThat(config.directory, is("/tmp"));
+		assertThat(config.port, is(8080));
+		assertThat(config.ratio, is(0.5));
+		assertThat(config.files, is(new String[] { "a", "b" }));
+		assertThat(config.excludes, is(Arrays.asList("c")));
+		assertThat(config.unbound, is(7));
+	}
+
+	@Test
+	public void keepsInitializersForMissingArguments() throws ArgsException {
+		ServerConfig config = Binder.of(ServerConfig.class).parse(new String[0]);
+		assertThat(config.logging, is(false));
+		assertThat(config.directory, is("/var"));
+		assertThat(config.port, is(80));
+		assertThat(config.ratio, is(1.0));
+		assertThat(config.files.length, is(0));
+	}
+
+	@Test
+	public void bindsIntoExistingInstance() throws ArgsException {
+		Binder<ServerConfig> binder = Binder.of(ServerConfig.class);
+		ServerConfig config = new ServerConfig();
+		config.port = 9090;
+		binder.bind(binder.getSchema().parse(new String[] { "-d", "/srv" }), config);
+		assertThat(config.port, is(9090));
+		assertThat(config.directory, is("/srv"));
+	}
+
+	@Test
+	public void bindsInheritedAndPrivateFields() throws ArgsException {
+		VerboseServerConfig config = Binder.of(VerboseServerConfig.class).parse(new String[] { "-v", "-p", "1" });
+		assertThat(config.verbose, is(true));
+		assertThat(config.port, is(1));
+	}
+
+	@Test
+	public void cachesBinderPerClass() throws ArgsException {
+		assertThat(Binder.of(ServerConfig.class), is(sameInstance(Binder.of(ServerConfig.class))));
+	}
+
+	@Test
+	public void reportsParseErrors() throws ArgsException {
+		try {
+			Binder.of(ServerConfig.class).parse(new String[] { "-p", "eighty" });
+			fail("parse() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentId(), is('p'));
+		}
+	}
+
+	@Test
+	public void unsupportedFieldType() throws ArgsException {
+		assertInvalidFormat(UnsupportedType.class, "long count");
+	}
+
+	@Test
+	public void onlyListsOfStrings() throws ArgsException {
+		assertInvalidFormat(IntegerList.class, "List numbers");
+		assertInvalidFormat(RawList.class, "List numbers");
+	}
+
+	@Test
+	public void duplicateArgumentId() throws ArgsException {
+		assertInvalidFormat(DuplicateId.class, "int second");
+	}
+
+	@Test
+	public void finalField() throws ArgsException {
+		assertInvalidFormat(FinalField.class, "int count");
+	}
+
+	@Test
+	public void noDefaultConstructor() throws ArgsException {
+		Binder<NoDefaultConstructor> binder = Binder.of(NoDefaultConstructor.class);
+		NoDefaultConstructor target = new NoDefaultConstructor(1);
+		binder.bind(binder.getSchema().parse(new String[] { "-n", "2" }), target);
+		assertThat(target.count, is(2));
+		try {
+			binder.parse(new String[0]);
+			fail("parse() should have thrown exception.");
+		} catch (IllegalStateException e) {
+		}
+	}
+
+	private static void assertInvalidFormat(Class<?> type, String field) {
+		try {
+			Binder.of(type);
+			fail("of() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FORMAT));
+			assertThat(e.getErrorArgumentId(), is('n'));
+			assertThat(e.getErrorParameter(), is(field));
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.*;
+
+public class CollectErrorsTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d*,r##,f[*],count#,verbose", ParseOption.COLLECT_ERRORS);
+	}
+
+	private static List<String> messages(ParseResult result) {
+		List<String> messages = new ArrayList<String>();
+		for (ParseError error : result.getErrors()) {
+			messages.add(error.getMessage());
+		}
+		return messages;
+	}
+
+	@Test
+	public void validCommandLineParses() throws ArgsException {
+		ParseResult result = schema.tryParse(new String[] { "-l", "-p", "1", "--count=2", "x" });
+		assertThat(result.isSuccess(), is(true));
+		assertThat(result.getArgs().getInt("count"), is(2));
+		assertThat(result.getArgs().extraArguments(), is(Arrays.asList("x")));
+	}
+
+	@Test
+	public void collectsEveryError() {
+		ParseResult result = schema.tryParse(
+			new String[] { "-p", "one", "-q", "-l", "-r", "half", "--count=two", "--verbose=yes", "--size", "-d" });
+		assertThat(result.isSuccess(), is(false));
+		assertThat(messages(result), is(Arrays.asList(
+			"Argument -p expects an integer but was 'one'.",
+			"Argument -q unexpected.",
+			"Argument -r expects a double but was 'half'.",
+			"Argument --count expects an integer but was 'two'.",
+			"Argument --verbose does not take a value but was given 'yes'.",
+			"Argument --size unexpected.",
+			"Could not find string parameter for -d.")));
+	}
+
+	@Test
+	public void failedValuesAreConsumed() {
+		ParseResult result = schema.tryParse(new String[] { "-pr", "x", "y", "--count", "z", "-lq" });
+		assertThat(messages(result), is(Arrays.asList(
+			"Argument -p expects an integer but was 'x'.",
+			"Argument -r expects a double but was 'y'.",
+			"Argument --count expects an integer but was 'z'.",
+			"Argument -q unexpected.")));
+	}
+
+	@Test
+	public void constructorThrowsTheFirstError() throws Exception {
+		try {
+			new Args(schema, new String[] { "-q", "-p", "one" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNEXPECTED_ARGUMENT));
+			assertThat(e.getErrorArgumentId(), is('q'));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+	}
+
+	@Test
+	public void withoutTheOptionParsingStopsAtTheFirstError() throws ArgsException {
+		ParseResult result = new Schema("p#,r##").tryParse(new String[] { "-p", "one", "-r", "half" });
+		assertThat(result.getErrors().size(), is(1));
+		assertThat(result.getErrors().get(0).getErrorCode(), is(INVALID_INTEGER));
+	}
+
+	@Test
+	public void reparseStartsWithNoErrors() throws ArgsException {
+		Args args = schema.parse(new String[0]);
+		try {
+			args.reparse(new String[] { "-q" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNEXPECTED_ARGUMENT));
+		}
+		args.reparse(new String[] { "-p", "3" });
+		assertThat(args.getInt('p'), is(3));
+	}
+
+	@Test
+	public void collectsErrorsFromArgumentFiles() throws Exception {
+		File file = File.createTempFile("collect", ".args");
+		file.deleteOnExit();
+		Files.write(file.toPath(), "-p one\n-q\n".getBytes(StandardCharsets.UTF_8));
+		Schema expanding = new Schema("p#,l", ParseOption.EXPAND_ARGUMENT_FILES, ParseOption.COLLECT_ERRORS);
+		ParseResult result = expanding.tryParse(new String[] { "@" + file.getPath(), "-r", "@missing.args" });
+		assertThat(messages(result), is(Arrays.asList(
+			"Argument -p expects an integer but was 'one'.",
+			"Argument -q unexpected.",
+			"Argument -r unexpected.",
+			"Argument file 'missing.args' is missing, unreadable or malformed.")));
+	}
+
+	@Test
+	public void errorsAreReadOnly() {
+		ParseResult result = schema.tryParse(new String[] { "-q" });
+		try {
+			result.getErrors().clear();
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+import org.junit.*;
+
+public class CommandLineTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d##,s*,f[*],n[#],verbose,timeout#T,name*");
+	}
+
+	@Test
+	public void parsesLikeArgv() throws ArgsException {
+		Args args = schema.parse(CommandLine.shell("-lp 42 -d 1.5 --timeout=2s --name box -f a -f b x y"));
+		assertThat(args.getBoolean('l'), is(true));
+		assertThat(args.getInt('p'), is(42));
+		assertThat(args.getDouble('d'), is(1.5));
+		assertThat(args.getDuration("timeout"), is(Duration.ofSeconds(2)));
+		assertThat(args.getString("name"), is("box"));
+		assertThat(args.getStringArray('f'), is(new String[] { "a", "b" }));
+		assertThat(args.extraArgumentsIndex(), is(11));
+		assertThat(args.extraArguments(), is(Arrays.asList("x", "y")));
+	}
+
+	@Test
+	public void quotingAndEscaping() throws ArgsException {
+		Args args = schema.parse(CommandLine.shell(
+			"-s 'it is \"here\"' -f \"a \\\"b\\\" \\$c \\d\" -f a\\ b\\\\ -f x'y'\"z\" -f '' -f \"\" -- -p"));
+		assertThat(args.getString('s'), is("it is \"here\""));
+		assertThat(args.getStringArray('f'), is(new String[] { "a \"b\" $c \\d", "a b\\", "xyz", "", "" }));
+		assertThat(args.extraArguments(), is(Arrays.asList("-p")));
+	}
+
+	@Test
+	public void whitespaceAndLineContinuations() throws ArgsException {
+		Args args = schema.parse(CommandLine.shell("\t -s one\\\ntwo \\\n -p\n7\r\n \"a\\\nb\" "));
+		assertThat(args.getString('s'), is("onetwo"));
+		assertThat(args.getInt('p'), is(7));
+		assertThat(args.extraArguments(), is(Arrays.asList("ab")));
+	}
+
+	@Test
+	public void emptyCommandLine() throws ArgsException {
+		Args args = schema.parse(CommandLine.shell("  "));
+		assertThat(args.found('l'), is(false));
+		assertThat(args.extraArgumentsIndex(), is(0));
+		assertThat(args.extraArguments().isEmpty(), is(true));
+	}
+
+	@Test
+	public void utf8Bytes() throws ArgsException {
+		String commandLine = "-s '\u00e9t\u00e9 \u2603 \ud83d\ude00' --name \u00fcber rest";
+		ByteBuffer bytes = ByteBuffer.wrap(commandLine.getBytes(StandardCharsets.UTF_8));
+		Args args = schema.parse(CommandLine.shell(bytes));
+		assertThat(args.getString('s'), is("\u00e9t\u00e9 \u2603 \ud83d\ude00"));
+		assertThat(args.getString("name"), is("\u00fcber"));
+		assertThat(args.extraArguments(), is(Arrays.asList("rest")));
+		assertThat(bytes.position(), is(0));
+	}
+
+	@Test
+	public void malformedUtf8BecomesReplacementCharacters() throws ArgsException {
+		byte[] bytes = { '-', 's', ' ', 'a', (byte) 0xc3, ' ', (byte) 0xff, 'b', (byte) 0xed, (byte) 0xa0,
+			(byte) 0x80 };
+		Args args = schema.parse(CommandLine.shell(ByteBuffer.wrap(bytes)));
+		assertThat(args.getString('s'), is("a\ufffd"));
+		assertThat(args.extraArguments(), is(Arrays.asList(new String(bytes, 6, 5, StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	public void malformedUtf8IsReplacedLikeTheJdk() throws ArgsException {
+		int[][] sequences = { { 0xe0, 0x80, 0x80, 0xed, 0xa0, 0x80, 'x' }, { 0xc0, 0x80 }, { 0xc3, 'x' },
+			{ 0xe1, 0x80, 'x' }, { 0xe0, 0xa0 }, { 0xf0, 0x80, 0x80, 0x80 }, { 0xf0, 0x9f, 0x98 },
+			{ 0xf4, 0x90, 0x80, 0x80 }, { 0xf8, 0x88, 0x80 }, { 0xbf, 'x' }, { 0xed, 0x9f, 0xbf } };
+		for (int[] sequence : sequences) {
+			byte[] bytes = new byte[sequence.length];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (byte) sequence[i];
+			}
+			assertDecodedLikeTheJdk(bytes);
+		}
+		Random random = new Random(25);
+		for (int round = 0; round < 2000; round++) {
+			byte[] bytes = new byte[1 + random.nextInt(12)];
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = (byte) (0x80 + random.nextInt(0x80));
+			}
+			assertDecodedLikeTheJdk(bytes);
+		}
+	}
+
+	private void assertDecodedLikeTheJdk(byte[] bytes) throws ArgsException {
+		Args args = schema.parse(CommandLine.nulSeparated(ByteBuffer.wrap(bytes)));
+		String expected = new String(bytes, StandardCharsets.UTF_8);
+		assertThat(Arrays.toString(bytes), args.extraArguments(), is(Arrays.asList(expected)));
+	}
+
+	@Test
+	public void nulSeparated() throws ArgsException {
+		String cmdline = "-s\0it's \"raw\"\0--verbose\0\0x\0";
+		Args args = schema.parse(CommandLine.nulSeparated(cmdline));
+		assertThat(args.getString('s'), is("it's \"raw\""));
+		assertThat(args.getBoolean("verbose"), is(true));
+		assertThat(args.extraArguments(), is(Arrays.asList("", "x")));
+
+		args = schema.parse(CommandLine.nulSeparated(ByteBuffer.wrap(cmdline.getBytes(StandardCharsets.UTF_8))));
+		assertThat(args.getString('s'), is("it's \"raw\""));
+		assertThat(args.extraArguments(), is(Arrays.asList("", "x")));
+	}
+
+	@Test
+	public void commandLineCanBeParsedAgain() throws ArgsException {
+		CommandLine commandLine = CommandLine.shell(ByteBuffer.wrap("-p 1 -n 2 -n 3".getBytes(StandardCharsets.UTF_8)));
+		Args args = schema.parse(commandLine);
+		args.reparse(commandLine);
+		assertThat(args.getInt('p'), is(1));
+		assertThat(args.getIntArray('n'), is(new int[] { 2, 3 }));
+	}
+
+	@Test
+	public void errorsMatchArgv() throws Exception {
+		String[] commandLines = { "-p", "-p x", "-x", "--verbose=yes", "--nope", "--timeout", "-d 1.5.2", "-n" };
+		for (String commandLine : commandLines) {
+			ParseError expected = schema.tryParse(commandLine.split(" ")).getErrors().get(0);
+			ParseError actual = schema.tryParse(CommandLine.shell(commandLine)).getErrors().get(0);
+			assertThat(commandLine, actual.getMessage(), is(expected.getMessage()));
+		}
+	}
+
+	@Test
+	public void unterminatedQuote() {
+		assertMalformed("-s 'abc", "Command line is malformed: unterminated single quote.");
+		assertMalformed("-s \"abc\\\"", "Command line is malformed: unterminated double quote.");
+		assertMalformed("-l \\", "Command line is malformed: backslash at end of input.");
+	}
+
+	@Test
+	public void malformedCommandLineEndsCollectingErrors() throws ArgsException {
+		Schema collecting = new Schema("p#", ParseOption.COLLECT_ERRORS);
+		ParseResult result = collecting.tryParse(CommandLine.shell("-x -p 'open"));
+		assertThat(result.getErrors().size(), is(2));
+		assertThat(result.getErrors().get(0).getErrorCode(), is(UNEXPECTED_ARGUMENT));
+		assertThat(result.getErrors().get(1).getErrorCode(), is(MALFORMED_COMMAND_LINE));
+	}
+
+	@Test
+	public void lazyConversionKeepsValues() throws ArgsException {
+		Schema lazy = new Schema("p#,d##", ParseOption.LAZY_CONVERSION);
+		Args args = lazy.parse(CommandLine.shell("-p 12 -d 0.5"));
+		assertThat(args.getInt('p'), is(12));
+		assertThat(args.getDouble('d'), is(0.5));
+	}
+
+	private void assertMalformed(String commandLine, String message) {
+		try {
+			schema.parse(CommandLine.shell(commandLine));
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(MALFORMED_COMMAND_LINE));
+			assertThat(e.getMessage(), is(message));
+		}
+	}
+
+}
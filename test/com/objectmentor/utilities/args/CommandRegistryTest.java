@@ -0,0 +1,169 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class CommandRegistryTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private CommandRegistry<String> registry;
+
+	@Before
+	public void setUp() throws ArgsException {
+		registry = new CommandRegistry<String>(new Schema("v,C*"));
+		registry.register("commit", "m*,a,amend", new CommandHandler<String>() {
+			@Override
+			public String run(Args globalArgs, Args commandArgs) throws ArgsException {
+				return "commit " + commandArgs.getString('m') + " " + commandArgs.getBoolean('a') + " "
+					+ commandArgs.getBoolean("amend") + " " + globalArgs.getBoolean('v');
+			}
+		});
+		registry.register("log", "n#", new CommandHandler<String>() {
+			@Override
+			public String run(Args globalArgs, Args commandArgs) throws ArgsException {
+				return "log " + commandArgs.getInt('n') + " " + globalArgs.getString('C') + " "
+					+ commandArgs.extraArguments();
+			}
+		});
+	}
+
+	@Test
+	public void dispatchesToTheNamedCommand() throws ArgsException {
+		assertThat(registry.dispatch(new String[] { "commit", "-a", "-m", "fix" }), is("commit fix true false false"));
+		assertThat(registry.dispatch(new String[] { "log", "-n", "3", "HEAD", "-p" }), is("log 3  [HEAD, -p]"));
+	}
+
+	@Test
+	public void globalOptionsPrecedeTheCommand() throws ArgsException {
+		assertThat(registry.dispatch(new String[] { "-v", "commit", "--amend" }), is("commit  false true true"));
+		assertThat(registry.dispatch(new String[] { "-C", "/repo", "--", "log" }), is("log 0 /repo []"));
+	}
+
+	@Test
+	public void globalOptionsFromAnArgumentFile() throws Exception {
+		Path file = folder.getRoot().toPath().resolve("global");
+		Files.write(file, "-v -q".getBytes(StandardCharsets.UTF_8));
+		CommandRegistry<String> expanding =
+			new CommandRegistry<String>(new Schema("v,q", ParseOption.EXPAND_ARGUMENT_FILES));
+		expanding.register("build", "x", new CommandHandler<String>() {
+			@Override
+			public String run(Args globalArgs, Args commandArgs) throws ArgsException {
+				return "build " + globalArgs.getBoolean('v') + " " + globalArgs.getBoolean('q') + " "
+					+ commandArgs.getBoolean('x') + " " + commandArgs.extraArguments();
+			}
+		});
+		assertThat(expanding.dispatch(new String[] { "@" + file, "build", "-x", "out" }),
+			is("build true true true [out]"));
+	}
+
+	@Test
+	public void commandOptionsAreParsedWithTheCommandSchema() throws Exception {
+		try {
+			registry.dispatch(new String[] { "log", "-v" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNEXPECTED_ARGUMENT));
+			assertThat(e.getErrorArgumentId(), is('v'));
+		}
+	}
+
+	@Test
+	public void missingCommand() throws Exception {
+		try {
+			registry.dispatch(new String[] { "-v" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(MISSING_COMMAND));
+			assertThat(e.getMessage(), is("Expected a command."));
+		}
+	}
+
+	@Test
+	public void unknownCommand() throws Exception {
+		try {
+			registry.dispatch(new String[] { "push", "-f" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_COMMAND));
+			assertThat(e.getErrorParameter(), is("push"));
+			assertThat(e.getMessage(), is("Command 'push' is unknown."));
+		}
+	}
+
+	@Test
+	public void schemasAreCompiledWhenTheirCommandIsFirstUsed() throws Exception {
+		registry.register("broken", "x~", new CommandHandler<String>() {
+			@Override
+			public String run(Args globalArgs, Args commandArgs) {
+				return "unreachable";
+			}
+		});
+		assertThat(registry.dispatch(new String[] { "log" }), is("log 0  []"));
+		try {
+			registry.dispatch(new String[] { "broken" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FORMAT));
+			assertThat(e.getErrorArgumentId(), is('x'));
+		}
+	}
+
+	@Test
+	public void compiledSchemasAreCached() throws ArgsException {
+		Schema schema = registry.getSchema("log");
+		assertThat(schema.contains('n'), is(true));
+		assertThat(registry.getSchema("log"), is(sameInstance(schema)));
+	}
+
+	@Test
+	public void commandOptionsAreApplied() throws ArgsException {
+		registry.register("fast", "n#", new CommandHandler<String>() {
+			@Override
+			public String run(Args globalArgs, Args commandArgs) {
+				return String.valueOf(commandArgs.getSchema().hasOption(ParseOption.LAZY_CONVERSION));
+			}
+		}, ParseOption.LAZY_CONVERSION);
+		assertThat(registry.dispatch(new String[] { "fast" }), is("true"));
+	}
+
+	@Test
+	public void listsCommandNames() {
+		assertThat(registry.contains("log"), is(true));
+		assertThat(registry.contains("lo"), is(false));
+		assertThat(registry.commandNames(), is((Set<String>) new HashSet<String>(Arrays.asList("commit", "log"))));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void duplicateCommandsAreRejected() {
+		registry.register("log", "", null);
+	}
+
+	@Test
+	public void defaultRegistryHasNoGlobalOptions() throws Exception {
+		CommandRegistry<Integer> plain = new CommandRegistry<Integer>();
+		plain.register("count", "", new CommandHandler<Integer>() {
+			@Override
+			public Integer run(Args globalArgs, Args commandArgs) {
+				return commandArgs.extraArguments().size();
+			}
+		});
+		assertThat(plain.dispatch(new String[] { "count", "a", "b" }), is(2));
+		try {
+			plain.dispatch(new String[] { "-v", "count" });
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNEXPECTED_ARGUMENT));
+		}
+	}
+
+}
@@ -0,0 +1,209 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class FallbacksTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Schema schema;
+	private Map<String, String> environment;
+	private File properties;
+	private Fallbacks fallbacks;
+
+	@Before
+	public void setUp() throws Exception {
+		schema = new Schema("v,p#,d*,r##,f[*],log-level*");
+		environment = new HashMap<String, String>();
+		environment.put("APP_PORT", "9090");
+		environment.put("APP_VERBOSE", "true");
+		properties = folder.newFile("app.properties");
+		Files.write(properties.toPath(), "port=7070\ndirectory=/srv\nratio=0.25\nlog.level=debug\n"
+			.getBytes(StandardCharsets.UTF_8));
+		ValueSource env = ValueSource.of("environment", environment);
+		ValueSource file = ValueSource.properties(properties.toPath());
+		fallbacks = new Fallbacks(schema)
+			.add('v', env, "APP_VERBOSE")
+			.add('p', env, "APP_PORT")
+			.add('p', file, "port")
+			.add('d', env, "APP_DIRECTORY")
+			.add('d', file, "directory")
+			.add('r', file, "ratio")
+			.add("log-level", file, "log.level");
+	}
+
+	@Test
+	public void commandLineWins() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "8080" }, fallbacks);
+		assertThat(args.getInt('p'), is(8080));
+		assertThat(args.sourceOf('p'), is(sameInstance(ValueSource.ARGUMENTS)));
+	}
+
+	@Test
+	public void firstSourceWithValueWins() throws ArgsException {
+		Args args = schema.parse(new String[0], fallbacks);
+		assertThat(args.getInt('p'), is(9090));
+		assertThat(args.sourceOf('p').toString(), is("environment"));
+		assertThat(args.getString('d'), is("/srv"));
+		assertThat(args.sourceOf('d').toString(), is("properties file " + properties.toPath()));
+		assertThat(args.getDouble('r'), is(0.25));
+		assertThat(args.getBoolean('v'), is(true));
+		assertThat(args.getString("log-level"), is("debug"));
+	}
+
+	@Test
+	public void fallbacksApplyBeforeDefaults() throws ArgsException {
+		Args args = schema.parse(new String[0], fallbacks);
+		assertThat(args.found('p'), is(true));
+		assertThat(args.getIntOrDefault('p', 80), is(9090));
+		assertThat(args.found('f'), is(false));
+		assertThat(args.sourceOf('f'), is(nullValue()));
+		assertThat(args.getStringArray('f').length, is(0));
+	}
+
+	@Test
+	public void sourcesAreNotReadWhenCommandLineSuppliesEverything() throws Exception {
+		CountingSource counting = new CountingSource();
+		Fallbacks counted = new Fallbacks(schema).add('p', counting, "port").add('d', counting, "directory");
+		Args args = schema.parse(new String[] { "-p", "1", "-d", "/tmp" }, counted);
+		assertThat(args.getInt('p'), is(1));
+		assertThat(args.getString('d'), is("/tmp"));
+		args.snapshot();
+		assertThat(counting.lookups, is(0));
+	}
+
+	@Test
+	public void eachArgumentIsResolvedOnce() throws Exception {
+		CountingSource counting = new CountingSource();
+		Args args = schema.parse(new String[0], new Fallbacks(schema).add('p', counting, "port"));
+		assertThat(args.getIntOrDefault('p', 80), is(80));
+		assertThat(args.found('p'), is(false));
+		assertThat(args.sourceOf('p'), is(nullValue()));
+		assertThat(counting.lookups, is(1));
+	}
+
+	@Test
+	public void propertiesFileIsLoadedOnFirstMissAndCached() throws Exception {
+		ValueSource file = ValueSource.properties(properties.toPath());
+		Fallbacks lazy = new Fallbacks(schema).add('p', file, "port").add('d', file, "directory");
+		Args args = schema.parse(new String[0], lazy);
+		assertThat(args.getInt('p'), is(7070));
+		Files.delete(properties.toPath());
+		assertThat(args.getString('d'), is("/srv"));
+		assertThat(schema.parse(new String[0], lazy).getInt('p'), is(7070));
+	}
+
+	@Test
+	public void missingPropertiesFileIsEmpty() throws ArgsException {
+		ValueSource file = ValueSource.properties(new File(folder.getRoot(), "missing.properties").toPath());
+		Args args = schema.parse(new String[0], new Fallbacks(schema).add('p', file, "port"));
+		assertThat(args.getIntOrDefault('p', 80), is(80));
+	}
+
+	@Test
+	public void malformedPropertiesFileReportsTheCause() throws Exception {
+		Files.write(properties.toPath(), "port=\\u00zz\n".getBytes(StandardCharsets.ISO_8859_1));
+		ValueSource file = ValueSource.properties(properties.toPath());
+		try {
+			schema.parse(new String[0], new Fallbacks(schema).add('p', file, "port")).getInt('p');
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FILE));
+			assertThat(e.getErrorParameter(), is(properties.toPath().toString()));
+			assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+	}
+
+	@Test
+	public void invalidFallbackValue() throws ArgsException {
+		ValueSource source = ValueSource.of("test", Collections.singletonMap("APP_PORT", "eighty"));
+		Args args = schema.parse(new String[0], new Fallbacks(schema).add('p', source, "APP_PORT"));
+		try {
+			args.getInt('p');
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentId(), is('p'));
+			assertThat(e.getErrorParameter(), is("eighty"));
+		}
+	}
+
+	@Test
+	public void booleanFallbacks() throws ArgsException {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("off", "FALSE");
+		values.put("bad", "maybe");
+		ValueSource source = ValueSource.of("test", values);
+		Args off = schema.parse(new String[0], new Fallbacks(schema).add('v', source, "off"));
+		assertThat(off.getBoolean('v'), is(false));
+		assertThat(off.sourceOf('v'), is(sameInstance(source)));
+		Args bad = schema.parse(new String[0], new Fallbacks(schema).add('v', source, "bad"));
+		try {
+			bad.getBoolean('v');
+			fail("getBoolean() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_BOOLEAN));
+			assertThat(e.getMessage(), is("Argument -v expects true or false but was 'maybe'."));
+		}
+	}
+
+	@Test
+	public void handlesAndSnapshotsSeeFallbacks() throws ArgsException {
+		Args args = schema.parse(new String[0], fallbacks);
+		assertThat(schema.intHandle('p').get(args), is(9090));
+		assertThat(schema.stringHandle('d').getOrDefault(args, "/tmp"), is("/srv"));
+		ArgsSnapshot snapshot = schema.parse(new String[0], fallbacks).snapshot();
+		assertThat(snapshot.getInt('p'), is(9090));
+		assertThat(snapshot.getString("log-level"), is("debug"));
+	}
+
+	@Test
+	public void unknownArgument() {
+		try {
+			new Fallbacks(schema).add('x', ValueSource.environment(), "X");
+			fail("add() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_ARGUMENT_NAME));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void differentSchema() throws ArgsException {
+		new Schema("p#").parse(new String[0], fallbacks);
+	}
+
+	@Test
+	public void environmentSource() throws ArgsException {
+		Map.Entry<String, String> variable = System.getenv().entrySet().iterator().next();
+		assertThat(ValueSource.environment().get(variable.getKey()), is(variable.getValue()));
+	}
+
+	private static final class CountingSource extends ValueSource {
+
+		int lookups;
+
+		CountingSource() {
+			super("counting");
+		}
+
+		@Override
+		public String get(String key) {
+			lookups++;
+			return null;
+		}
+
+	}
+
+}
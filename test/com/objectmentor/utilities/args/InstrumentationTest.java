@@ -0,0 +1,136 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.*;
+
+import org.junit.*;
+
+public class InstrumentationTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("v,p#,d*,log-level*", ParseOption.INSTRUMENTATION);
+	}
+
+	@Test
+	public void disabledByDefault() throws ArgsException {
+		assertThat(new Schema("v").getMetrics(), is(nullValue()));
+	}
+
+	@Test
+	public void countsParsesFailuresAndUsage() throws ArgsException {
+		schema.parse(new String[] { "-v", "-p", "1" });
+		schema.parse(new String[] { "-p", "2", "--log-level", "debug" });
+		schema.tryParse(new String[] { "-p", "three" });
+		schema.tryParse(new String[] { "-x" });
+		schema.tryParse(new String[] { "-p" });
+		try {
+			schema.parse(new String[] { "-y" });
+			fail("parse() should have thrown exception.");
+		} catch (ArgsException e) {
+		}
+		ParseMetrics metrics = schema.getMetrics();
+		assertThat(metrics.getParseCount(), is(6L));
+		assertThat(metrics.getFailureCount(), is(4L));
+		assertThat(metrics.getFailureCount(INVALID_INTEGER), is(1L));
+		assertThat(metrics.getFailureCount(UNEXPECTED_ARGUMENT), is(2L));
+		assertThat(metrics.getFailureCount(MISSING_INTEGER), is(1L));
+		assertThat(metrics.getFailureCount(MISSING_STRING), is(0L));
+		assertThat(metrics.getUsageCount('p'), is(2L));
+		assertThat(metrics.getUsageCount('v'), is(1L));
+		assertThat(metrics.getUsageCount('d'), is(0L));
+		assertThat(metrics.getUsageCount("log-level"), is(1L));
+	}
+
+	@Test
+	public void countsEveryCollectedError() throws ArgsException {
+		Schema collecting = new Schema("v,p#", ParseOption.INSTRUMENTATION, ParseOption.COLLECT_ERRORS);
+		ParseResult result = collecting.tryParse(new String[] { "-x", "-p", "three", "-y" });
+		assertThat(result.getErrors().size(), is(3));
+		ParseMetrics metrics = collecting.getMetrics();
+		assertThat(metrics.getParseCount(), is(1L));
+		assertThat(metrics.getFailureCount(), is(1L));
+		assertThat(metrics.getFailureCount(UNEXPECTED_ARGUMENT), is(2L));
+		assertThat(metrics.getFailureCount(INVALID_INTEGER), is(1L));
+	}
+
+	@Test
+	public void recordsLatencies() throws ArgsException {
+		ParseMetrics metrics = schema.getMetrics();
+		assertThat(metrics.getLatencyPercentile(0.5), is(0L));
+		for (int i = 0; i < 100; i++) {
+			schema.parse(new String[] { "-v" });
+		}
+		long total = 0;
+		for (long count : metrics.getLatencyHistogram()) {
+			total += count;
+		}
+		assertThat(total, is(100L));
+		long median = metrics.getLatencyPercentile(0.5);
+		assertThat(median > 0, is(true));
+		assertThat(Long.bitCount(median), is(1));
+		assertThat(metrics.getLatencyPercentile(1.0) >= median, is(true));
+	}
+
+	@Test
+	public void usageOfUnknownArgument() {
+		try {
+			schema.getMetrics().getUsageCount('x');
+			fail("getUsageCount() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_ARGUMENT_NAME));
+		}
+	}
+
+	@Test
+	public void emitsFlightRecorderEvents() throws Exception {
+		Path file = Files.createTempFile("args", ".jfr");
+		try {
+			Recording recording = new Recording();
+			recording.enable("com.objectmentor.utilities.args.Parse").withThreshold(java.time.Duration.ZERO);
+			recording.enable("com.objectmentor.utilities.args.ParseError");
+			recording.start();
+			schema.parse(new String[] { "-v", "-p", "1" });
+			schema.tryParse(new String[] { "--log-level" });
+			new Schema("p#", ParseOption.INSTRUMENTATION, ParseOption.COLLECT_ERRORS)
+				.tryParse(new String[] { "-x", "-p", "three" });
+			recording.stop();
+			recording.dump(file);
+			recording.close();
+
+			List<RecordedEvent> parses = new ArrayList<RecordedEvent>();
+			List<RecordedEvent> errors = new ArrayList<RecordedEvent>();
+			for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+				String name = event.getEventType().getName();
+				if (name.equals("com.objectmentor.utilities.args.Parse")) {
+					parses.add(event);
+				} else if (name.equals("com.objectmentor.utilities.args.ParseError")) {
+					errors.add(event);
+				}
+			}
+			assertThat(parses.size(), is(3));
+			assertThat(parses.get(0).getInt("argumentCount"), is(3));
+			assertThat(parses.get(0).getBoolean("success"), is(true));
+			assertThat(parses.get(1).getBoolean("success"), is(false));
+			assertThat(parses.get(1).getString("errorCode"), is("MISSING_STRING"));
+			assertThat(parses.get(2).getString("errorCode"), is("UNEXPECTED_ARGUMENT"));
+			assertThat(errors.size(), is(3));
+			assertThat(errors.get(0).getString("argument"), is("--log-level"));
+			assertThat(errors.get(1).getString("argument"), is("-x"));
+			assertThat(errors.get(2).getString("errorCode"), is("INVALID_INTEGER"));
+			assertThat(errors.get(2).getString("parameter"), is("three"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class LazyConversionTest {
+
+	@Test
+	public void convertsOnFirstRead() throws ArgsException {
+		Schema schema = new Schema("n#,r##", ParseOption.LAZY_CONVERSION);
+		Args args = new Args(schema, new String[] { "-n", "42", "-r", "0.25" });
+		assertThat(args.getInt('n'), is(42));
+		assertThat(args.getInt('n'), is(42));
+		assertThat(args.getDouble('r'), is(0.25));
+		assertThat(args.getDoubleOrDefault('r', 1.0), is(0.25));
+	}
+
+	@Test
+	public void invalidValueFailsOnRead() throws ArgsException {
+		Schema schema = new Schema("n#,r##", ParseOption.LAZY_CONVERSION);
+		Args args = new Args(schema, new String[] { "-n", "Forty two", "-r", "half" });
+		assertThat(args.found('n'), is(true));
+		try {
+			args.getInt('n');
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentId(), is('n'));
+			assertThat(e.getErrorParameter(), is(equalTo("Forty two")));
+		}
+		try {
+			args.getDoubleOrDefault('r', 1.0);
+			fail("getDoubleOrDefault() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_DOUBLE));
+			assertThat(e.getErrorArgumentId(), is('r'));
+		}
+	}
+
+	@Test
+	public void unreadInvalidValueNeverFails() throws ArgsException {
+		Schema schema = new Schema("n#,v", ParseOption.LAZY_CONVERSION);
+		Args args = new Args(schema, new String[] { "-n", "Forty two", "-v" });
+		assertThat(args.getBoolean('v'), is(true));
+	}
+
+	@Test
+	public void missingValueStillFailsWhileParsing() throws ArgsException {
+		Schema schema = new Schema("n#", ParseOption.LAZY_CONVERSION);
+		ParseResult result = schema.tryParse(new String[] { "-n" });
+		assertThat(result.getErrors().get(0).getErrorCode(), is(MISSING_INTEGER));
+	}
+
+	@Test
+	public void strictValidationFailsWhileParsing() throws ArgsException {
+		Schema schema = new Schema("n#,r##", ParseOption.LAZY_CONVERSION, ParseOption.STRICT_VALIDATION);
+		assertThat(schema.tryParse(new String[] { "-n", "Forty two" }).getErrors().get(0).getErrorCode(),
+			is(INVALID_INTEGER));
+		assertThat(schema.tryParse(new String[] { "-r", "half" }).getErrors().get(0).getErrorCode(),
+			is(INVALID_DOUBLE));
+		assertThat(schema.parse(new String[] { "-r", "1e3" }).getDouble('r'), is(1000.0));
+	}
+
+	@Test
+	public void snapshotConvertsEverything() throws ArgsException {
+		Schema schema = new Schema("n#,r##", ParseOption.LAZY_CONVERSION);
+		assertThat(schema.parse(new String[] { "-n", "7" }).snapshot().getInt('n'), is(7));
+		try {
+			schema.parse(new String[] { "-r", "half" }).snapshot();
+			fail("snapshot() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_DOUBLE));
+			assertThat(e.getErrorArgumentId(), is('r'));
+		}
+	}
+
+	@Test
+	public void typesKnowWhichMarshalersDeferConversion() {
+		for (ArgumentType type : ArgumentType.values()) {
+			boolean lazy = type.newMarshaler(Conversion.LAZY) instanceof LazyArgumentMarshaler;
+			assertThat(type.name(), type.defersConversion(), is(lazy));
+		}
+	}
+
+}
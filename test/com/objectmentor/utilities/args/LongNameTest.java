@@ -0,0 +1,205 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class LongNameTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("v,verbose,port#,portal*,ratio##,include[*],dry-run");
+	}
+
+	@Test
+	public void schemaSeparatesIdsAndNames() {
+		assertThat(schema.argumentIds(), is(Collections.singleton('v')));
+		assertThat(schema.argumentNames(), is((Set<String>) new LinkedHashSet<String>(
+			Arrays.asList("verbose", "port", "portal", "ratio", "include", "dry-run"))));
+		assertThat(schema.contains("dry-run"), is(true));
+		assertThat(schema.contains("dry"), is(false));
+	}
+
+	@Test
+	public void separateAndInlineValues() throws ArgsException {
+		Args args = schema.parse(new String[] { "--verbose", "--port", "8080", "--portal=/home", "--ratio=0.5",
+			"--include", "a", "--include=b", "-v", "extra" });
+		assertThat(args.getBoolean("verbose"), is(true));
+		assertThat(args.getBoolean('v'), is(true));
+		assertThat(args.getInt("port"), is(8080));
+		assertThat(args.getString("portal"), is("/home"));
+		assertThat(args.getDouble("ratio"), is(0.5));
+		assertThat(args.getStringList("include"), is(Arrays.asList("a", "b")));
+		assertThat(args.found("dry-run"), is(false));
+		assertThat(args.getIntOrDefault("port", 80), is(8080));
+		assertThat(args.extraArgumentsIndex(), is(9));
+	}
+
+	@Test
+	public void inlineValueMayContainEqualsSign() throws ArgsException {
+		Args args = schema.parse(new String[] { "--portal=a=b" });
+		assertThat(args.getString("portal"), is("a=b"));
+	}
+
+	@Test
+	public void uniquePrefixesResolve() throws ArgsException {
+		Args args = schema.parse(new String[] { "--verb", "--ra", "2", "--portal", "x", "--dry" });
+		assertThat(args.getBoolean("verbose"), is(true));
+		assertThat(args.getDouble("ratio"), is(2.0));
+		assertThat(args.getString("portal"), is("x"));
+		assertThat(args.found("dry-run"), is(true));
+	}
+
+	@Test
+	public void exactNameWinsOverLongerName() throws ArgsException {
+		Args args = schema.parse(new String[] { "--port", "1" });
+		assertThat(args.getInt("port"), is(1));
+		assertThat(args.found("portal"), is(false));
+	}
+
+	@Test
+	public void ambiguousPrefix() throws ArgsException {
+		assertParseError(AMBIGUOUS_ARGUMENT, "po", null, "--po", "1");
+		assertThat(schema.tryParse(new String[] { "--po" }).getErrors().get(0).getMessage(),
+			is("Argument --po is ambiguous."));
+	}
+
+	@Test
+	public void unknownName() throws ArgsException {
+		assertParseError(UNEXPECTED_ARGUMENT, "colour", null, "--colour");
+		assertParseError(UNEXPECTED_ARGUMENT, "verbosely", null, "--verbosely");
+	}
+
+	@Test
+	public void errorsNameTheFullArgument() throws ArgsException {
+		assertParseError(MISSING_INTEGER, "port", null, "--port");
+		assertParseError(INVALID_INTEGER, "port", "eighty", "--port=eighty");
+		assertParseError(INVALID_DOUBLE, "ratio", "half", "--rat", "half");
+		assertParseError(UNEXPECTED_VALUE, "verbose", "yes", "--verbose=yes");
+		try {
+			schema.parse(new String[] { "--port=eighty" });
+			fail("parse() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getMessage(), is("Argument --port expects an integer but was 'eighty'."));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+	}
+
+	@Test
+	public void doubleDashEndsOptions() throws ArgsException {
+		Args args = schema.parse(new String[] { "-v", "--", "--verbose" });
+		assertThat(args.found("verbose"), is(false));
+		assertThat(args.extraArgumentsIndex(), is(2));
+		assertThat(args.extraArguments(), is(Arrays.asList("--verbose")));
+	}
+
+	@Test
+	public void gettersRejectUnknownAndMistypedNames() throws ArgsException {
+		Args args = schema.parse(new String[0]);
+		try {
+			args.getInt("verb");
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(UNKNOWN_ARGUMENT_NAME));
+			assertThat(e.getErrorArgumentName(), is("verb"));
+		}
+		try {
+			args.getInt("verbose");
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(WRONG_ARGUMENT_TYPE));
+			assertThat(e.getErrorArgumentName(), is("verbose"));
+			assertThat(e.getMessage(), is("Argument 'verbose' is not of the requested type."));
+		}
+	}
+
+	@Test
+	public void handlesAndSnapshots() throws ArgsException {
+		Args args = schema.parse(new String[] { "--port", "8080", "--include=a" });
+		IntHandle port = schema.intHandle("port");
+		assertThat(port.getName(), is("port"));
+		assertThat(port.get(args), is(8080));
+		ArgsSnapshot snapshot = args.snapshot();
+		assertThat(snapshot.getInt("port"), is(8080));
+		assertThat(snapshot.getStringArray("include"), is(new String[] { "a" }));
+		assertThat(snapshot.getStringOrDefault("portal", "/tmp"), is("/tmp"));
+		assertThat(port.get(snapshot), is(8080));
+	}
+
+	@Test
+	public void lazyConversionErrorsNameTheArgument() throws ArgsException {
+		Schema lazy = new Schema("port#", ParseOption.LAZY_CONVERSION);
+		Args args = lazy.parse(new String[] { "--port=eighty" });
+		try {
+			args.getInt("port");
+			fail("getInt() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentName(), is("port"));
+			assertThat(e.getErrorParameter(), is("eighty"));
+		}
+	}
+
+	@Test
+	public void argumentFilesMayUseLongNames() throws Exception {
+		File file = folder.newFile("args");
+		Files.write(file.toPath(), "--port 8080 --incl=a\n-- --verbose".getBytes(StandardCharsets.UTF_8));
+		Schema expanding = new Schema("verbose,port#,include[*]", ParseOption.EXPAND_ARGUMENT_FILES);
+		Args args = expanding.parse(new String[] { "@" + file.getPath() });
+		assertThat(args.getInt("port"), is(8080));
+		assertThat(args.getStringList("include"), is(Arrays.asList("a")));
+		assertThat(args.found("verbose"), is(false));
+		assertThat(args.extraArguments(), is(Arrays.asList("--verbose")));
+	}
+
+	@Test
+	public void invalidLongNameFormat() {
+		try {
+			new Schema("port~");
+			fail("Schema constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FORMAT));
+			assertThat(e.getErrorArgumentName(), is("port"));
+			assertThat(e.getErrorParameter(), is("~"));
+		}
+	}
+
+	@Test
+	public void largeSchemaResolvesEveryNameAndPrefix() throws ArgsException {
+		StringBuilder elements = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			elements.append(i == 0 ? "" : ",").append("option-").append(i).append('#');
+		}
+		Schema large = new Schema(elements.toString());
+		for (int i = 0; i < 1000; i++) {
+			Args args = large.parse(new String[] { "--option-" + i, Integer.toString(i) });
+			assertThat(args.getInt("option-" + i), is(i));
+		}
+		assertThat(large.tryParse(new String[] { "--option-" }).getErrors().get(0).getErrorCode(),
+			is(AMBIGUOUS_ARGUMENT));
+		assertThat(large.parse(new String[] { "--option-999", "1" }).getInt("option-999"), is(1));
+	}
+
+	private void assertParseError(ArgsException.ErrorCode code, String name, String parameter, String... args) {
+		ParseResult result = schema.tryParse(args);
+		assertThat(result.isSuccess(), is(false));
+		ParseError error = result.getErrors().get(0);
+		assertThat(error.getErrorCode(), is(code));
+		assertThat(error.getErrorArgumentName(), is(name));
+		assertThat(error.getErrorParameter(), is(parameter));
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.time.Duration;
+import java.util.*;
+
+import org.junit.*;
+
+public class LongValueArgumentsTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("n#L,m#B,t#T,max-heap#B,timeout#T");
+	}
+
+	@Test
+	public void parsesLongSizeAndDuration() throws ArgsException {
+		Args args = schema.parse(new String[] { "-n", "9000000000", "-m", "64g", "-t", "250ms", "--timeout=1h30m" });
+		assertThat(args.getLong('n'), is(9000000000L));
+		assertThat(args.getSize('m'), is(64L << 30));
+		assertThat(args.getDuration('t'), is(Duration.ofMillis(250)));
+		assertThat(args.getDuration("timeout"), is(Duration.ofMinutes(90)));
+	}
+
+	@Test
+	public void defaults() throws ArgsException {
+		Args args = schema.parse(new String[0]);
+		assertThat(args.getLong('n'), is(0L));
+		assertThat(args.getSize("max-heap"), is(0L));
+		assertThat(args.getDuration('t'), is(Duration.ZERO));
+		assertThat(args.getLongOrDefault('n', -1), is(-1L));
+		assertThat(args.getSizeOrDefault("max-heap", 1024), is(1024L));
+		assertThat(args.getDurationOrDefault('t', Duration.ofSeconds(5)), is(Duration.ofSeconds(5)));
+	}
+
+	@Test
+	public void wrongType() throws Exception {
+		Args args = schema.parse(new String[] { "-m", "1k" });
+		try {
+			args.getLong('m');
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(WRONG_ARGUMENT_TYPE));
+		}
+	}
+
+	@Test
+	public void invalidValues() {
+		assertError(new String[] { "-n", "1e3" }, INVALID_LONG, "Argument -n expects a long but was '1e3'.");
+		assertError(new String[] { "-m", "64q" }, INVALID_SIZE,
+			"Argument -m expects a size like 512k or 64g but was '64q'.");
+		assertError(new String[] { "--timeout", "soon" }, INVALID_DURATION,
+			"Argument --timeout expects a duration like 250ms or 1h30m but was 'soon'.");
+		assertError(new String[] { "-t", "1s1s" }, INVALID_DURATION,
+			"Argument -t expects a duration like 250ms or 1h30m but was '1s1s'.");
+		assertError(new String[] { "-t", "1m1h" }, INVALID_DURATION,
+			"Argument -t expects a duration like 250ms or 1h30m but was '1m1h'.");
+	}
+
+	@Test
+	public void missingValues() {
+		assertError(new String[] { "-n" }, MISSING_LONG, "Could not find long parameter for -n.");
+		assertError(new String[] { "-m" }, MISSING_SIZE, "Could not find size parameter for -m.");
+		assertError(new String[] { "-t" }, MISSING_DURATION, "Could not find duration parameter for -t.");
+	}
+
+	private void assertError(String[] argv, ArgsException.ErrorCode errorCode, String message) {
+		try {
+			schema.parse(argv);
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(errorCode));
+			assertThat(e.getMessage(), is(message));
+		}
+	}
+
+	@Test
+	public void lazyConversionDefersErrors() throws Exception {
+		Schema lazy = new Schema("m#B", ParseOption.LAZY_CONVERSION);
+		Args args = lazy.parse(new String[] { "-m", "lots" });
+		try {
+			args.getSize('m');
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_SIZE));
+			assertThat(e.getErrorArgumentId(), is('m'));
+			assertThat(e.getErrorParameter(), is("lots"));
+		}
+	}
+
+	@Test
+	public void snapshot() throws ArgsException {
+		ArgsSnapshot snapshot = schema.parse(new String[] { "-n", "-5", "-t", "2d" }).snapshot();
+		assertThat(snapshot.getLong('n'), is(-5L));
+		assertThat(snapshot.getDuration('t'), is(Duration.ofDays(2)));
+		assertThat(snapshot.getSizeOrDefault('m', 7), is(7L));
+		assertThat(snapshot.getDurationOrDefault("timeout", Duration.ofSeconds(1)), is(Duration.ofSeconds(1)));
+	}
+
+	@Test
+	public void fallbackValues() throws ArgsException {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("heap", "512m");
+		Fallbacks fallbacks = new Fallbacks(schema).add("max-heap", ValueSource.of("test", values), "heap");
+		assertThat(schema.parse(new String[0], fallbacks).getSize("max-heap"), is(512L << 20));
+	}
+
+	@Test
+	public void reparseResetsValues() throws ArgsException {
+		Args args = schema.parse(new String[] { "-n", "3", "-m", "1k", "-t", "1s" });
+		args.reparse(new String[0]);
+		assertThat(args.getLong('n'), is(0L));
+		assertThat(args.getSize('m'), is(0L));
+		assertThat(args.getDuration('t'), is(Duration.ZERO));
+	}
+
+}
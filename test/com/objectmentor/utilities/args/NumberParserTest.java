@@ -0,0 +1,222 @@
+package com.objectmentor.utilities.args;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NumberParserTest {
+
+	private static final String INTEGER_ALPHABET = "0123456789+- \u0661\u0662x";
+	private static final String DOUBLE_ALPHABET = "0123456789+-.eEfFdDxXpPaAbBcN I\t";
+
+	private final Random random = new Random(42);
+
+	@Test
+	public void integers() {
+		assertThat(NumberParser.parseInt("42"), is(42L));
+		assertThat(NumberParser.parseInt("-2147483648"), is((long) Integer.MIN_VALUE));
+		assertThat(NumberParser.parseInt("+2147483647"), is((long) Integer.MAX_VALUE));
+		assertThat(NumberParser.parseInt("\u0664\u0662"), is(42L));
+	}
+
+	@Test
+	public void invalidIntegers() {
+		assertThat(NumberParser.parseInt(""), is(NumberParser.NOT_AN_INTEGER));
+		assertThat(NumberParser.parseInt("-"), is(NumberParser.NOT_AN_INTEGER));
+		assertThat(NumberParser.parseInt(" 42"), is(NumberParser.NOT_AN_INTEGER));
+		assertThat(NumberParser.parseInt("2147483648"), is(NumberParser.NOT_AN_INTEGER));
+		assertThat(NumberParser.parseInt("Forty two"), is(NumberParser.NOT_AN_INTEGER));
+		assertThat(NumberParser.parseInt(null), is(NumberParser.NOT_AN_INTEGER));
+	}
+
+	@Test
+	public void doubles() {
+		assertDoubleMatchesJdk("42.3");
+		assertDoubleMatchesJdk(" -0 ");
+		assertDoubleMatchesJdk(".5e-3");
+		assertDoubleMatchesJdk("1.");
+		assertDoubleMatchesJdk("7f");
+		assertDoubleMatchesJdk("0x1.8p3");
+		assertDoubleMatchesJdk("-Infinity");
+		assertDoubleMatchesJdk("NaN");
+		assertDoubleMatchesJdk("2.2250738585072011e-308");
+		assertDoubleMatchesJdk("123456789012345678901234567890");
+	}
+
+	@Test
+	public void invalidDoubles() {
+		assertThat(NumberParser.isDouble(""), is(false));
+		assertThat(NumberParser.isDouble("."), is(false));
+		assertThat(NumberParser.isDouble("1e"), is(false));
+		assertThat(NumberParser.isDouble("1.2.3"), is(false));
+		assertThat(NumberParser.isDouble("0x1.8"), is(false));
+		assertThat(NumberParser.isDouble("Forty two"), is(false));
+		assertThat(NumberParser.isDouble(null), is(false));
+	}
+
+	@Test
+	public void longs() {
+		assertThat(NumberParser.parseLong("42"), is(42L));
+		assertThat(NumberParser.parseLong("+9223372036854775807"), is(Long.MAX_VALUE));
+		assertThat(NumberParser.parseLong("-9223372036854775808"), is(Long.MIN_VALUE));
+		assertThat(NumberParser.isLong("-9223372036854775808"), is(true));
+		assertThat(NumberParser.isLong("9223372036854775808"), is(false));
+		assertThat(NumberParser.isLong("-"), is(false));
+		assertThat(NumberParser.isLong(""), is(false));
+		assertThat(NumberParser.isLong(null), is(false));
+		for (String zero : new String[] { "0", "-000", "+0", "\u0660", "0x", "00a", "+", "0-" }) {
+			assertLongMatchesJdk(zero);
+		}
+	}
+
+	@Test
+	public void sizes() {
+		assertThat(NumberParser.parseSize("512"), is(512L));
+		assertThat(NumberParser.parseSize("512b"), is(512L));
+		assertThat(NumberParser.parseSize("64k"), is(64L << 10));
+		assertThat(NumberParser.parseSize("64g"), is(64L << 30));
+		assertThat(NumberParser.parseSize("2GB"), is(2L << 30));
+		assertThat(NumberParser.parseSize("1TiB"), is(1L << 40));
+		assertThat(NumberParser.parseSize("3p"), is(3L << 50));
+		assertThat(NumberParser.parseSize("8191P"), is(8191L << 50));
+	}
+
+	@Test
+	public void invalidSizes() {
+		assertThat(NumberParser.parseSize(""), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("k"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("-1k"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("1.5g"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("64ki"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("64ib"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("64x"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("8192P"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize("99999999999999999999"), is(NumberParser.NOT_A_SIZE));
+		assertThat(NumberParser.parseSize(null), is(NumberParser.NOT_A_SIZE));
+	}
+
+	@Test
+	public void durations() {
+		assertThat(NumberParser.parseDuration("0"), is(0L));
+		assertThat(NumberParser.parseDuration("250ms"), is(250000000L));
+		assertThat(NumberParser.parseDuration("15us"), is(15000L));
+		assertThat(NumberParser.parseDuration("15\u00b5s"), is(15000L));
+		assertThat(NumberParser.parseDuration("7ns"), is(7L));
+		assertThat(NumberParser.parseDuration("90s"), is(90000000000L));
+		assertThat(NumberParser.parseDuration("1h30m"), is(5400000000000L));
+		assertThat(NumberParser.parseDuration("2d"), is(172800000000000L));
+		assertThat(NumberParser.parseDuration("1m1ms"), is(60001000000L));
+		assertThat(NumberParser.parseDuration("1d2h3m4s5ms6us7ns"), is(93784005006007L));
+	}
+
+	@Test
+	public void invalidDurations() {
+		assertThat(NumberParser.parseDuration(""), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("250"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("ms"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("-1s"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1.5s"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1h30"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1s1s"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1m1h"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1ms1s"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1w"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("1S"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration("107000d"), is(NumberParser.NOT_A_DURATION));
+		assertThat(NumberParser.parseDuration(null), is(NumberParser.NOT_A_DURATION));
+	}
+
+	@Test
+	public void fuzzLongsAgainstJdk() {
+		for (int i = 0; i < 100000; i++) {
+			assertLongMatchesJdk(randomString(INTEGER_ALPHABET, 21));
+			assertLongMatchesJdk(Long.toString(random.nextLong() >> random.nextInt(64)));
+		}
+		assertLongMatchesJdk(Long.toString(Long.MIN_VALUE));
+	}
+
+	@Test
+	public void fuzzIntegersAgainstJdk() {
+		for (int i = 0; i < 100000; i++) {
+			assertIntegerMatchesJdk(randomString(INTEGER_ALPHABET, 12));
+			assertIntegerMatchesJdk(Long.toString(random.nextLong() >> random.nextInt(64)));
+		}
+	}
+
+	@Test
+	public void fuzzDoublesAgainstJdk() {
+		for (int i = 0; i < 100000; i++) {
+			assertDoubleMatchesJdk(randomString(DOUBLE_ALPHABET, 10));
+			assertDoubleMatchesJdk(randomDecimal());
+			assertDoubleMatchesJdk(Double.toString(Double.longBitsToDouble(random.nextLong())));
+		}
+	}
+
+	private String randomString(String alphabet, int maxLength) {
+		int length = random.nextInt(maxLength + 1);
+		StringBuilder result = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return result.toString();
+	}
+
+	private String randomDecimal() {
+		StringBuilder result = new StringBuilder();
+		if (random.nextBoolean()) {
+			result.append('-');
+		}
+		result.append(randomString("0123456789", 18));
+		if (random.nextBoolean()) {
+			result.append('.').append(randomString("0123456789", 18));
+		}
+		if (random.nextBoolean()) {
+			result.append('e').append(random.nextInt(700) - 350);
+		}
+		return result.toString();
+	}
+
+	private void assertIntegerMatchesJdk(String s) {
+		long expected;
+		try {
+			expected = Integer.parseInt(s);
+		} catch (NumberFormatException e) {
+			expected = NumberParser.NOT_AN_INTEGER;
+		}
+		assertThat(s, NumberParser.parseInt(s), is(expected));
+	}
+
+	private void assertLongMatchesJdk(String s) {
+		boolean valid;
+		long expected = 0;
+		try {
+			expected = Long.parseLong(s);
+			valid = true;
+		} catch (NumberFormatException e) {
+			valid = false;
+		}
+		assertThat(s, NumberParser.isLong(s), is(valid));
+		if (valid) {
+			assertThat(s, NumberParser.parseLong(s), is(expected));
+		}
+	}
+
+	private void assertDoubleMatchesJdk(String s) {
+		boolean valid;
+		double expected = 0;
+		try {
+			expected = Double.parseDouble(s);
+			valid = true;
+		} catch (NumberFormatException e) {
+			valid = false;
+		}
+		assertThat(s, NumberParser.isDouble(s), is(valid));
+		if (valid) {
+			assertThat(s, Double.doubleToLongBits(NumberParser.parseDouble(s)), is(Double.doubleToLongBits(expected)));
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ParseResultTest {
+
+	@Test
+	public void success() throws ArgsException {
+		ParseResult result = new Schema("x,y#").tryParse(new String[] { "-xy", "42", "alpha" });
+		assertThat(result.isSuccess(), is(true));
+		assertThat(result.getErrors().isEmpty(), is(true));
+		assertThat(result.getArgs().getBoolean('x'), is(true));
+		assertThat(result.getArgs().getInt('y'), is(42));
+		assertThat(result.getArgs().extraArgumentsIndex(), is(2));
+	}
+
+	@Test
+	public void invalidInteger() throws ArgsException {
+		ParseResult result = new Schema("x#").tryParse(new String[] { "-x", "Forty two" });
+		assertThat(result.isSuccess(), is(false));
+		assertThat(result.getErrors().size(), is(1));
+		ParseError error = result.getErrors().get(0);
+		assertThat(error.getErrorCode(), is(INVALID_INTEGER));
+		assertThat(error.getErrorArgumentId(), is('x'));
+		assertThat(error.getErrorParameter(), is(equalTo("Forty two")));
+		assertThat(error.getMessage(), is(equalTo("Argument -x expects an integer but was 'Forty two'.")));
+	}
+
+	@Test
+	public void unexpectedArgument() throws ArgsException {
+		ParseResult result = new Schema("x").tryParse(new String[] { "-y" });
+		assertThat(result.getErrors().get(0).getErrorCode(), is(UNEXPECTED_ARGUMENT));
+		assertThat(result.getErrors().get(0).getErrorArgumentId(), is('y'));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void noArgsAfterFailure() throws ArgsException {
+		new Schema("x*").tryParse(new String[] { "-x" }).getArgs();
+	}
+
+	@Test
+	public void errorConvertsToException() {
+		ArgsException e = new ParseError(MISSING_STRING, 'x', null).toException();
+		assertThat(e.getErrorCode(), is(MISSING_STRING));
+		assertThat(e.getErrorArgumentId(), is('x'));
+		assertThat(e.getStackTrace().length > 0, is(true));
+	}
+
+	@Test
+	public void constructorStillThrowsWithStackTrace() throws ArgsException {
+		try {
+			new Args("x#", new String[] { "-x" });
+			fail("Args constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(MISSING_INTEGER));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.nio.*;
+import java.util.*;
+
+import org.junit.*;
+
+public class PrimitiveArrayArgumentsTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("p[#],w[##],shard[#]");
+	}
+
+	@Test
+	public void collectsRepeatedValues() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "8080", "-w", "0.5", "-p", "8081", "--shard=3", "-w", "2" });
+		assertThat(args.getIntArray('p'), is(new int[] { 8080, 8081 }));
+		assertThat(args.getDoubleArray('w'), is(new double[] { 0.5, 2.0 }));
+		assertThat(args.getIntArray("shard"), is(new int[] { 3 }));
+	}
+
+	@Test
+	public void defaultsAreEmpty() throws ArgsException {
+		Args args = schema.parse(new String[0]);
+		assertThat(args.found('p'), is(false));
+		assertThat(args.getIntArray('p').length, is(0));
+		assertThat(args.getDoubleBuffer('w').remaining(), is(0));
+	}
+
+	@Test
+	public void growsPastInitialCapacity() throws ArgsException {
+		String[] argv = new String[2000];
+		for (int i = 0; i < 1000; i++) {
+			argv[2 * i] = "-p";
+			argv[2 * i + 1] = Integer.toString(i);
+		}
+		int[] values = schema.parse(argv).getIntArray('p');
+		assertThat(values.length, is(1000));
+		for (int i = 0; i < 1000; i++) {
+			assertThat(values[i], is(i));
+		}
+	}
+
+	@Test
+	public void arraysAreCopies() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "1" });
+		args.getIntArray('p')[0] = 2;
+		assertThat(args.getIntArray('p'), is(new int[] { 1 }));
+	}
+
+	@Test
+	public void buffersAreReadOnlyViews() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "1", "-p", "2" });
+		IntBuffer buffer = args.getIntBuffer('p');
+		assertThat(buffer.isReadOnly(), is(true));
+		assertThat(buffer.remaining(), is(2));
+		assertThat(buffer.capacity(), is(2));
+		assertThat(buffer.get(1), is(2));
+		try {
+			buffer.put(0, 5);
+			fail();
+		} catch (ReadOnlyBufferException e) {
+		}
+	}
+
+	@Test
+	public void buffersSurviveReparse() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "1", "-w", "1.5" });
+		IntBuffer ints = args.getIntBuffer('p');
+		DoubleBuffer doubles = args.getDoubleBuffer('w');
+		args.reparse(new String[] { "-p", "7", "-p", "8", "-w", "9" });
+		assertThat(ints.get(0), is(1));
+		assertThat(ints.remaining(), is(1));
+		assertThat(doubles.get(0), is(1.5));
+		assertThat(args.getIntArray('p'), is(new int[] { 7, 8 }));
+		assertThat(args.getDoubleArray('w'), is(new double[] { 9.0 }));
+	}
+
+	@Test
+	public void reparseReusesUnsharedStorage() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "1", "-p", "2" });
+		args.reparse(new String[] { "-p", "3" });
+		assertThat(args.getIntArray('p'), is(new int[] { 3 }));
+	}
+
+	@Test
+	public void invalidValues() {
+		assertError(new String[] { "-p", "1", "-p", "x" }, INVALID_INTEGER, 'p', "x");
+		assertError(new String[] { "-w", "half" }, INVALID_DOUBLE, 'w', "half");
+		assertError(new String[] { "-p" }, MISSING_INTEGER, 'p', null);
+		assertError(new String[] { "-w" }, MISSING_DOUBLE, 'w', null);
+	}
+
+	private void assertError(String[] argv, ArgsException.ErrorCode errorCode, char id, String parameter) {
+		try {
+			schema.parse(argv);
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(errorCode));
+			assertThat(e.getErrorArgumentId(), is(id));
+			assertThat(e.getErrorParameter(), is(parameter));
+		}
+	}
+
+	@Test
+	public void wrongType() throws Exception {
+		Args args = schema.parse(new String[0]);
+		try {
+			args.getDoubleArray('p');
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(WRONG_ARGUMENT_TYPE));
+		}
+	}
+
+	@Test
+	public void snapshot() throws ArgsException {
+		Args args = schema.parse(new String[] { "-p", "1", "-w", "0.25" });
+		ArgsSnapshot snapshot = args.snapshot();
+		args.reparse(new String[] { "-p", "2" });
+		assertThat(snapshot.getIntArray('p'), is(new int[] { 1 }));
+		assertThat(snapshot.getIntBuffer('p').get(0), is(1));
+		assertThat(snapshot.getDoubleArray('w'), is(new double[] { 0.25 }));
+		assertThat(snapshot.getDoubleBuffer('w').isReadOnly(), is(true));
+		assertThat(snapshot.getIntArray("shard").length, is(0));
+	}
+
+	@Test
+	public void fallbackValue() throws ArgsException {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("SHARD", "12");
+		Fallbacks fallbacks = new Fallbacks(schema).add("shard", ValueSource.of("test", values), "SHARD");
+		assertThat(schema.parse(new String[0], fallbacks).getIntArray("shard"), is(new int[] { 12 }));
+	}
+
+}
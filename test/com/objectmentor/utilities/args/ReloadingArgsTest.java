@@ -0,0 +1,240 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.*;
+
+public class ReloadingArgsTest {
+
+	private Path directory;
+	private Path file;
+	private Schema schema;
+	private final BlockingQueue<Object> events = new LinkedBlockingQueue<Object>();
+	private final ReloadListener listener = new ReloadListener() {
+		@Override
+		public void reloaded(ArgsSnapshot snapshot) {
+			events.add(snapshot);
+		}
+
+		@Override
+		public void reloadFailed(ArgsException e) {
+			events.add(e);
+		}
+	};
+
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("args");
+		file = directory.resolve("service.args");
+		schema = new Schema("p#,v,name*");
+		write(file, "-p 8080 --name first");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (Path path : Files.newDirectoryStream(directory)) {
+			Files.delete(path);
+		}
+		Files.delete(directory);
+	}
+
+	private static void write(Path path, String contents) throws IOException {
+		Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void loadsTheFile() throws ArgsException {
+		ReloadingArgs args = new ReloadingArgs(schema, file);
+		assertThat(args.current().getInt('p'), is(8080));
+		assertThat(args.current().getString("name"), is("first"));
+		assertThat(args.getLastError(), is(nullValue()));
+	}
+
+	@Test
+	public void initialFailureIsThrown() throws Exception {
+		write(file, "-p eighty");
+		try {
+			new ReloadingArgs(schema, file);
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+	}
+
+	@Test
+	public void missingFile() throws Exception {
+		try {
+			new ReloadingArgs(schema, directory.resolve("missing.args"));
+			fail();
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FILE));
+			assertThat(e.getCause(), is(instanceOf(NoSuchFileException.class)));
+		}
+	}
+
+	@Test
+	public void failedReadReportsTheCause() throws Exception {
+		ReloadingArgs args = new ReloadingArgs(schema, file, listener);
+		Files.delete(file);
+		assertThat(args.reload(), is(false));
+		ArgsException e = (ArgsException) events.poll();
+		assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FILE));
+		assertThat(e.getCause(), is(instanceOf(NoSuchFileException.class)));
+		assertThat(e.getCause().getMessage(), is(file.toAbsolutePath().toString()));
+	}
+
+	@Test
+	public void reloadSwapsTheSnapshot() throws Exception {
+		ReloadingArgs args = new ReloadingArgs(schema, file, listener);
+		ArgsSnapshot before = args.current();
+		write(file, "# comment\n-v --name \"second value\"\n");
+		assertThat(args.reload(), is(true));
+		assertThat(args.current().getBoolean('v'), is(true));
+		assertThat(args.current().getString("name"), is("second value"));
+		assertThat(args.current().found('p'), is(false));
+		assertThat(before.getInt('p'), is(8080));
+		assertThat(events.poll(), is((Object) args.current()));
+	}
+
+	@Test
+	public void failedReloadKeepsThePreviousSnapshot() throws Exception {
+		ReloadingArgs args = new ReloadingArgs(schema, file, listener);
+		ArgsSnapshot before = args.current();
+		write(file, "-p 8081 -q");
+		assertThat(args.reload(), is(false));
+		assertThat(args.current(), is(sameInstance(before)));
+		assertThat(args.getLastError().getErrorCode(), is(UNEXPECTED_ARGUMENT));
+		assertThat(((ArgsException) events.poll()).getErrorArgumentId(), is('q'));
+
+		write(file, "-p 8082");
+		assertThat(args.reload(), is(true));
+		assertThat(args.getLastError(), is(nullValue()));
+		assertThat(args.current().getInt('p'), is(8082));
+	}
+
+	@Test
+	public void unterminatedQuoteIsAnError() throws Exception {
+		ReloadingArgs args = new ReloadingArgs(schema, file);
+		write(file, "--name \"open");
+		assertThat(args.reload(), is(false));
+		assertThat(args.getLastError().getErrorCode(), is(INVALID_ARGUMENT_FILE));
+	}
+
+	@Test
+	public void watcherPicksUpChanges() throws Exception {
+		ReloadingArgs args = new ReloadingArgs(schema, file, listener);
+		args.start();
+		try {
+			write(directory.resolve("other.args"), "-p 1");
+			write(file, "-p 9090");
+			ArgsSnapshot snapshot = awaitSnapshot();
+			assertThat(snapshot.getInt('p'), is(9090));
+			assertThat(args.current(), is(sameInstance(snapshot)));
+
+			Path replacement = directory.resolve("service.args.tmp");
+			write(replacement, "-p 9191");
+			Files.move(replacement, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			assertThat(awaitSnapshot().getInt('p'), is(9191));
+		} finally {
+			args.close();
+		}
+	}
+
+	@Test
+	public void throwingListenerDoesNotStopTheWatcher() throws Exception {
+		final AtomicBoolean thrown = new AtomicBoolean();
+		ReloadingArgs args = new ReloadingArgs(schema, file, new ReloadListener() {
+			@Override
+			public void reloaded(ArgsSnapshot snapshot) {
+				boolean first = thrown.compareAndSet(false, true);
+				events.add(snapshot);
+				if (first) {
+					throw new IllegalStateException("Listener failed on purpose.");
+				}
+			}
+
+			@Override
+			public void reloadFailed(ArgsException e) {
+				events.add(e);
+			}
+		});
+		final BlockingQueue<Throwable> uncaught = new LinkedBlockingQueue<Throwable>();
+		args.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+			@Override
+			public void uncaughtException(Thread thread, Throwable e) {
+				uncaught.add(e);
+			}
+		});
+		args.start();
+		try {
+			write(file, "-p 9090");
+			assertThat(awaitSnapshot().getInt('p'), is(9090));
+			assertThat(thrown.get(), is(true));
+			Throwable e = uncaught.poll(10, TimeUnit.SECONDS);
+			assertThat(e, is(instanceOf(IllegalStateException.class)));
+			assertThat(e.getMessage(), is("Listener failed on purpose."));
+
+			write(file, "-p 9191");
+			ArgsSnapshot snapshot = awaitSnapshot();
+			while (snapshot.getInt('p') != 9191) {
+				snapshot = awaitSnapshot();
+			}
+			assertThat(args.current().getInt('p'), is(9191));
+		} finally {
+			args.close();
+		}
+	}
+
+	private ArgsSnapshot awaitSnapshot() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (System.nanoTime() < deadline) {
+			Object event = events.poll(100, TimeUnit.MILLISECONDS);
+			if (event instanceof ArgsSnapshot) {
+				return (ArgsSnapshot) event;
+			}
+		}
+		throw new AssertionError("No reload within 10 seconds.");
+	}
+
+	@Test
+	public void readersNeverSeeHalfAppliedFiles() throws Exception {
+		write(file, "-a 0 -b 0");
+		final ReloadingArgs args = new ReloadingArgs(new Schema("a#,b#"), file);
+		final AtomicBoolean torn = new AtomicBoolean();
+		Thread reader = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					while (!Thread.currentThread().isInterrupted()) {
+						ArgsSnapshot snapshot = args.current();
+						if (snapshot.getInt('a') != snapshot.getInt('b')) {
+							torn.set(true);
+						}
+					}
+				} catch (ArgsException e) {
+					torn.set(true);
+				}
+			}
+		});
+		reader.start();
+		for (int i = 1; i <= 200; i++) {
+			write(file, "-a " + i + " -b " + i);
+			assertThat(args.reload(), is(true));
+		}
+		reader.interrupt();
+		reader.join();
+		assertThat(torn.get(), is(false));
+		assertThat(args.current().getInt('a'), is(200));
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+public class ReparseTest {
+
+	private Schema schema;
+
+	@Before
+	public void setUp() throws ArgsException {
+		schema = new Schema("l,p#,d*,r##,f[*]");
+	}
+
+	@Test
+	public void reparseReplacesEveryValue() throws ArgsException {
+		Args args = schema.parse(new String[] { "-l", "-p", "1", "-d", "/tmp", "-r", "0.5", "-f", "a", "x" });
+		args.reparse(new String[] { "-f", "b", "-f", "c", "y", "z" });
+		assertThat(args.found('l'), is(false));
+		assertThat(args.getBoolean('l'), is(false));
+		assertThat(args.found('p'), is(false));
+		assertThat(args.getInt('p'), is(0));
+		assertThat(args.getString('d'), is(""));
+		assertThat(args.getDouble('r'), is(0.0));
+		assertThat(args.getStringList('f'), is(Arrays.asList("b", "c")));
+		assertThat(args.extraArgumentsIndex(), is(4));
+		assertThat(args.extraArguments(), is(Arrays.asList("y", "z")));
+	}
+
+	@Test
+	public void earlierViewsAreUnaffected() throws ArgsException {
+		Args args = schema.parse(new String[0]);
+		args.reparse(new String[] { "--", "-f" });
+		args.reparse(new String[] { "-f", "a", "-p", "2", "-f", "b" });
+		List<String> files = args.getStringList('f');
+		List<String> extra = args.extraArguments();
+		ArgsSnapshot snapshot = args.snapshot();
+		args.reparse(new String[] { "-f", "c", "-d", "/srv", "-f", "d", "-f", "e", "rest" });
+		assertThat(files, is(Arrays.asList("a", "b")));
+		assertThat(extra, is(Collections.<String> emptyList()));
+		assertThat(snapshot.getStringList('f'), is(Arrays.asList("a", "b")));
+		assertThat(snapshot.getInt('p'), is(2));
+		assertThat(args.getStringList('f'), is(Arrays.asList("c", "d", "e")));
+	}
+
+	@Test
+	public void failedReparseLeavesArgsEmpty() throws ArgsException {
+		Args args = schema.parse(new String[] { "-l", "-p", "1" });
+		try {
+			args.reparse(new String[] { "-l", "-p", "one" });
+			fail("reparse() should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_INTEGER));
+			assertThat(e.getErrorArgumentId(), is('p'));
+			assertThat(e.getStackTrace().length > 0, is(true));
+		}
+		assertThat(args.found('l'), is(false));
+		assertThat(args.getInt('p'), is(0));
+		assertThat(args.extraArguments().isEmpty(), is(true));
+		args.reparse(new String[] { "-p", "3" });
+		assertThat(args.getInt('p'), is(3));
+	}
+
+	@Test
+	public void lazyValuesAreDiscarded() throws ArgsException {
+		Schema lazy = new Schema("p#", ParseOption.LAZY_CONVERSION);
+		Args args = lazy.parse(new String[] { "-p", "one" });
+		args.reparse(new String[0]);
+		assertThat(args.getInt('p'), is(0));
+	}
+
+	@Test
+	public void fallbacksAreResolvedAgain() throws ArgsException {
+		Map<String, String> values = new HashMap<String, String>();
+		values.put("port", "9090");
+		Fallbacks fallbacks = new Fallbacks(schema).add('p', ValueSource.of("test", values), "port");
+		Args args = schema.parse(new String[] { "-p", "1" }, fallbacks);
+		assertThat(args.sourceOf('p'), is(sameInstance(ValueSource.ARGUMENTS)));
+		args.reparse(new String[0]);
+		assertThat(args.getInt('p'), is(9090));
+		assertThat(args.sourceOf('p').toString(), is("test"));
+		args.reparse(new String[] { "-p", "2" });
+		assertThat(args.sourceOf('p'), is(sameInstance(ValueSource.ARGUMENTS)));
+	}
+
+	@Test
+	public void poolReusesOneArgsPerThread() throws Exception {
+		final ArgsPool pool = new ArgsPool(schema);
+		Args first = pool.parse(new String[] { "-p", "1" });
+		Args second = pool.parse(new String[] { "-p", "2" });
+		assertThat(second, is(sameInstance(first)));
+		assertThat(second.getInt('p'), is(2));
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Args other = executor.submit(new Callable<Args>() {
+				@Override
+				public Args call() throws ArgsException {
+					return pool.parse(new String[] { "-p", "3" });
+				}
+			}).get();
+			assertThat(other, is(not(sameInstance(first))));
+			assertThat(other.getInt('p'), is(3));
+			assertThat(first.getInt('p'), is(2));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+}
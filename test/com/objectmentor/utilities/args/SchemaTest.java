@@ -0,0 +1,61 @@
+package com.objectmentor.utilities.args;
+
+import static com.objectmentor.utilities.args.ArgsException.ErrorCode.*;
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SchemaTest {
+
+	@Test
+	public void emptySchema() throws ArgsException {
+		Schema schema = new Schema("");
+		assertThat(schema.argumentIds().isEmpty(), is(true));
+	}
+
+	@Test
+	public void containsDeclaredArguments() throws ArgsException {
+		Schema schema = new Schema("x, y#, z[*]");
+		assertThat(schema.contains('x'), is(true));
+		assertThat(schema.contains('y'), is(true));
+		assertThat(schema.contains('z'), is(true));
+		assertThat(schema.contains('w'), is(false));
+	}
+
+	@Test
+	public void nonLetterSchema() {
+		try {
+			new Schema("*");
+			fail("Schema constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_NAME));
+			assertThat(e.getErrorArgumentId(), is('*'));
+		}
+	}
+
+	@Test
+	public void invalidArgumentFormat() {
+		try {
+			new Schema("f~");
+			fail("Schema constructor should have thrown exception.");
+		} catch (ArgsException e) {
+			assertThat(e.getErrorCode(), is(INVALID_ARGUMENT_FORMAT));
+			assertThat(e.getErrorArgumentId(), is('f'));
+			assertThat(e.getErrorParameter(), is(equalTo("~")));
+		}
+	}
+
+	@Test
+	public void schemaCanBeReused() throws ArgsException {
+		Schema schema = new Schema("x,y#");
+		Args first = schema.parse(new String[] { "-x", "-y", "1" });
+		Args second = new Args(schema, new String[] { "-y", "2" });
+		assertThat(first.getBoolean('x'), is(true));
+		assertThat(first.getInt('y'), is(1));
+		assertThat(second.getBoolean('x'), is(false));
+		assertThat(second.getInt('y'), is(2));
+		assertThat(second.getSchema(), is(sameInstance(schema)));
+	}
+
+}